@@ -12,28 +12,30 @@ public class Main {
         DataFrame df = DataFrame.readCSV("dataset.csv", ",");
         
         OutlierHandler outlierHandler = new OutlierHandler();
-        List<String> numericColumns = new ArrayList<>(df.getData().keySet());
-        for(String col : numericColumns) {
-            try {
-                df = outlierHandler.RemoveOutliers(df, col);
-            } catch (Exception e) {
-                System.out.println("Skipping column (likely non-numeric): " + col);
+        List<String> numericColumns = new ArrayList<>();
+        for(String col : df.getData().keySet()) {
+            if (df.column(col).type().isNumeric()) {
+                numericColumns.add(col);
+            } else {
+                System.out.println("Skipping column (non-numeric): " + col);
             }
         }
+        df = outlierHandler.RemoveOutliers(df, numericColumns);
 
         String targetColumn = "quality";
         DataFrame X = df.dropColumn(targetColumn);
         DataFrame y = df.getColumn(targetColumn);
 
         Scaler scaler = new Scaler();
-        List<String> featureColumns = new ArrayList<>(X.getData().keySet()); 
-        for(String col : featureColumns) {
-            try {
-                X = scaler.RobustScaler(X, col);
-            } catch (Exception e) {
+        List<String> featureColumns = new ArrayList<>();
+        for(String col : X.getData().keySet()) {
+            if (X.column(col).type().isNumeric()) {
+                featureColumns.add(col);
+            } else {
                 System.out.println("Skipping column (non-numeric): " + col);
             }
         }
+        X = scaler.RobustScaler(X, featureColumns);
 
         Splitter splitter = new Splitter();
         var split = splitter.trainTestSplit(X, y, 0.8, 42);
@@ -1,16 +1,32 @@
 package mlcore.dataframe;
 
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.core.type.TypeReference;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import mlcore.dataframe.columns.Column;
+import mlcore.dataframe.columns.ColumnStats;
+import mlcore.dataframe.columns.ColumnType;
+import mlcore.dataframe.columns.IndexedColumn;
+import mlcore.dataframe.columns.SliceColumn;
+import mlcore.dataframe.columns.Schema;
+import mlcore.dataframe.filter.Filter;
+import mlcore.dataframe.filter.RowMask;
+import mlcore.dataframe.group.GroupBy;
+import mlcore.dataframe.join.HashJoin;
+import mlcore.dataframe.join.JoinType;
+import mlcore.dataframe.io.ColumnarFile;
+import mlcore.dataframe.io.CsvReader;
+import mlcore.dataframe.io.ExcelReader;
+import mlcore.dataframe.io.JsonReader;
+import mlcore.dataframe.io.ParallelCsvReader;
+import mlcore.dataframe.lazy.LazyFrame;
+import mlcore.dataframe.sort.SortKey;
+import mlcore.dataframe.sort.Sorter;
 
 
 public class DataFrame {
@@ -20,6 +36,8 @@ public class DataFrame {
     protected int nRows;
     protected int nCols;
 
+    private static final long PARALLEL_MATRIX_CELLS = 1L << 16;
+
     public DataFrame() {
         this.data = new HashMap<>();
         //this.columnTypes = new HashMap<>();
@@ -27,8 +45,10 @@ public class DataFrame {
         this.nCols = 0;
     }
 
+    // plain lists are converted to typed columns once here, so cached statistics can never go stale
     public DataFrame(Map<String, List<Object>> inputData) {
         this.data = new HashMap<>(inputData);
+        this.data.replaceAll((col, values) -> typed(values));
         //this.columnTypes = new HashMap<>();
 
         if (!inputData.isEmpty()) {
@@ -52,124 +72,180 @@ public class DataFrame {
         return nCols;
     }
 
+    // column names and types of this DataFrame
+    public Schema schema() {
+        Schema schema = new Schema();
+        for (String col : data.keySet()) {
+            schema.add(col, column(col).type());
+        }
+        return schema;
+    }
+
+    // typed view of a column; lists put into getData() directly are converted on every call
+    public Column column(String columnName) {
+        if (!data.containsKey(columnName)) {
+            throw new IllegalArgumentException("Column " + columnName + " not found");
+        }
+        return Column.of(data.get(columnName));
+    }
+
+    // stored columns are immutable: edits go through withColumn, which stores a new column with an empty cache
+    private static List<Object> typed(List<Object> values) {
+        return values == null ? null : Column.of(values);
+    }
+
+    // cached statistics of a column, computed on first use
+    public ColumnStats stats(String columnName) {
+        return column(columnName).stats();
+    }
+
+    // cached {Q1, median, Q3} of a column, computed on first use
+    public double[] quartiles(String columnName) {
+        return column(columnName).quartiles();
+    }
+
     public static DataFrame readCSV(String filePath, String delimiter) {
-        Map<String, List<Object>> csvData = new LinkedHashMap<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line = br.readLine();
-            if (line == null) return new DataFrame(); // empty file
-
-            // Step 1: Get headers
-            String[] headers = line.split(delimiter);
-            for (String header : headers) {
-                csvData.put(header.trim(), new ArrayList<>());
-            }
+        return readCSV(filePath, delimiter, null);
+    }
 
-            // Step 2: Read rows
-            while ((line = br.readLine()) != null) {
-                String[] values = line.split(delimiter);
-                for (int i = 0; i < headers.length; i++) {
-                    String val = (i < values.length) ? values[i].trim() : ""; // Handle missing trailing values
-                    Object parsedVal = parseValue(val);
-                    csvData.get(headers[i]).add(parsedVal);
-                }
-            }
+    // parses every column straight into the type declared by the schema; undeclared columns are inferred
+    public static DataFrame readCSV(String filePath, String delimiter, Schema schema) {
+        try (CsvReader reader = new CsvReader(filePath, delimiter, Integer.MAX_VALUE, schema)) {
+            return reader.readAll();
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+        }
+        return new DataFrame();
+    }
+
+    // memory-maps the file and parses line-aligned byte ranges on the given number of threads
+    public static DataFrame readCSVParallel(String filePath, String delimiter, int threads) {
+        return readCSVParallel(filePath, delimiter, threads, null);
+    }
+
+    public static DataFrame readCSVParallel(String filePath, String delimiter, int threads, Schema schema) {
+        try {
+            return new ParallelCsvReader(delimiter, threads, schema).read(filePath);
         } catch (IOException e) {
             e.printStackTrace();
         }
-        return new DataFrame(csvData);
+        return new DataFrame();
+    }
+
+    // streams the file as DataFrames of at most chunkSize rows; close the reader when done
+    public static CsvReader readCSVChunks(String filePath, String delimiter, int chunkSize) throws IOException {
+        return new CsvReader(filePath, delimiter, chunkSize);
+    }
+
+    public static CsvReader readCSVChunks(String filePath, String delimiter, int chunkSize, Schema schema) throws IOException {
+        return new CsvReader(filePath, delimiter, chunkSize, schema);
     }
 
+    // reads a JSON array of objects or newline-delimited JSON, streaming tokens into typed columns
     public static DataFrame readJSON(String filePath) {
-        Map<String, List<Object>> dataframeData = new LinkedHashMap<>();
-        ObjectMapper mapper = new ObjectMapper();
-        try {
-            List<Map<String, Object>> jsonData = mapper.readValue(new File(filePath), new TypeReference<List<Map<String, Object>>>(){});
-            
-            if (jsonData.isEmpty()) return new DataFrame();
-
-            // Initialize columns from the first object
-            Set<String> keys = jsonData.get(0).keySet();
-            for (String key : keys) {
-                dataframeData.put(key, new ArrayList<>());
-            }
+        return readJSON(filePath, null);
+    }
 
-            // Populate data
-            for (Map<String, Object> row : jsonData) {
-                for (String key : keys) {
-                    dataframeData.get(key).add(row.get(key));
-                }
-            }
+    public static DataFrame readJSON(String filePath, Schema schema) {
+        try {
+            return new JsonReader(schema).read(filePath);
         } catch (IOException e) {
             e.printStackTrace();
         }
-        return new DataFrame(dataframeData);
+        return new DataFrame();
     }
 
     public static DataFrame readExcel(String filePath) {
-        Map<String, List<Object>> excelData = new LinkedHashMap<>();
-        try (FileInputStream fis = new FileInputStream(new File(filePath));
-             Workbook workbook = new XSSFWorkbook(fis)) {
-            
-            Sheet sheet = workbook.getSheetAt(0);
-            Iterator<Row> rowIterator = sheet.iterator();
-
-            if (!rowIterator.hasNext()) return new DataFrame();
-
-            // Step 1: Get headers from first row
-            Row headerRow = rowIterator.next();
-            List<String> headers = new ArrayList<>();
-            for (Cell cell : headerRow) {
-                headers.add(cell.getStringCellValue());
-                excelData.put(cell.getStringCellValue(), new ArrayList<>());
-            }
-
-            // Step 2: Read data rows
-            while (rowIterator.hasNext()) {
-                Row row = rowIterator.next();
-                for (int i = 0; i < headers.size(); i++) {
-                    Cell cell = row.getCell(i, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
-                    Object val = null;
-                    switch (cell.getCellType()) {
-                        case STRING:
-                            val = parseValue(cell.getStringCellValue());
-                            break;
-                        case NUMERIC:
-                             if (DateUtil.isCellDateFormatted(cell)) {
-                                val = cell.getDateCellValue();
-                            } else {
-                                val = cell.getNumericCellValue();
-                            }
-                            break;
-                        case BOOLEAN:
-                            val = cell.getBooleanCellValue();
-                            break;
-                        default:
-                            val = "";
-                    }
-                    excelData.get(headers.get(i)).add(val);
-                }
-            }
+        return readExcel(filePath, 0, Integer.MAX_VALUE);
+    }
 
+    // streams one sheet through the XSSF event API, reading at most maxRows data rows
+    public static DataFrame readExcel(String filePath, String sheetName, int maxRows) {
+        try {
+            return new ExcelReader().sheet(sheetName).maxRows(maxRows).read(filePath);
         } catch (IOException e) {
             e.printStackTrace();
         }
-        return new DataFrame(excelData);
+        return new DataFrame();
     }
-    
-    private static Object parseValue(String val) {
+
+    public static DataFrame readExcel(String filePath, int sheetIndex, int maxRows) {
         try {
-            if (val.contains(".")) return Double.valueOf(val);
-            else return Integer.valueOf(val);
-        } catch (NumberFormatException e) {
-            return val; // keep as String if not numeric
+            return new ExcelReader().sheet(sheetIndex).maxRows(maxRows).read(filePath);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return new DataFrame();
+    }
+
+    // writes the DataFrame in the binary columnar format (typed blocks, null bitmaps, string dictionaries, column stats)
+    public void save(String filePath) throws IOException {
+        ColumnarFile.write(this, filePath);
+    }
+
+    // loads a file written by save() by memory-mapping its column blocks, no parsing involved
+    public static DataFrame load(String filePath) throws IOException {
+        return ColumnarFile.read(filePath);
+    }
+
+    // memory-maps a file written by save() without copying it onto the heap; pages are read on demand
+    public static DataFrame loadMapped(String filePath) throws IOException {
+        return ColumnarFile.map(filePath);
+    }
+
+    /**
+     * Copies the columns outside the Java heap; OBJECT columns stay on the heap. The data is
+     * written to a temporary file in the binary format and mapped back, so it is bounded by
+     * disk space rather than by -Xmx or -XX:MaxDirectMemorySize. The file is deleted right away
+     * where the platform allows it while mapped, otherwise when the JVM exits.
+     */
+    public DataFrame toOffHeap() {
+        Map<String, List<Object>> stored = new LinkedHashMap<>();
+        for (String col : this.data.keySet()) {
+            Column column = column(col);
+            if (column.type() != ColumnType.OBJECT) stored.put(col, column);
+        }
+        DataFrame mapped = new DataFrame();
+        if (!stored.isEmpty()) {
+            try {
+                Path file = Files.createTempFile("ml4j-offheap-", ".col");
+                try {
+                    mapped = new DataFrame(stored).toOffHeap(file.toString());
+                } finally {
+                    try {
+                        Files.delete(file);
+                    } catch (IOException e) {
+                        file.toFile().deleteOnExit();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        Map<String, List<Object>> offHeap = new LinkedHashMap<>();
+        for (String col : this.data.keySet()) {
+            offHeap.put(col, stored.containsKey(col) ? mapped.column(col) : column(col));
         }
+        return new DataFrame(offHeap);
+    }
+
+    // file-backed variant: writes the binary format to filePath and maps it back
+    public DataFrame toOffHeap(String filePath) throws IOException {
+        save(filePath);
+        return loadMapped(filePath);
+    }
+
+    // starts a lazy plan over this DataFrame; nothing runs until collect()
+    public LazyFrame lazy() {
+        return new LazyFrame(this);
     }
 
+    // the first 5 rows, as a view sharing this DataFrame's storage
     public DataFrame head() {
         Map<String, List<Object>> headData = new LinkedHashMap<>();
         for(String col : this.data.keySet()) {
             List<Object> colVals = this.data.get(col);
-            headData.put(col, new ArrayList<>(colVals.subList(0, Math.min(5, colVals.size()))));
+            headData.put(col, slice(colVals, 0, Math.min(5, colVals.size())));
         }
         return new DataFrame(headData);
     }
@@ -179,17 +255,33 @@ public class DataFrame {
         for (String col : this.data.keySet()) {
             List<Object> colVals = this.data.get(col);
             int start = Math.max(colVals.size() - 5, 0); // handle <5 rows
-            tailData.put(col, new ArrayList<>(colVals.subList(start, colVals.size())));
+            tailData.put(col, slice(colVals, start, colVals.size()));
         }
         return new DataFrame(tailData);
     }
 
+    // rows [from, to) as a view sharing this DataFrame's storage
+    public DataFrame sliceRows(int from, int to) {
+        Map<String, List<Object>> sliced = new LinkedHashMap<>();
+        for (String col : this.data.keySet()) {
+            sliced.put(col, slice(this.data.get(col), from, to));
+        }
+        return new DataFrame(sliced);
+    }
+
+    private static List<Object> slice(List<Object> values, int from, int to) {
+        if (values instanceof Column) {
+            return SliceColumn.of((Column) values, from, to);
+        }
+        return Collections.unmodifiableList(values.subList(from, to));
+    }
+
     public DataFrame getColumn(String columnName) {
         if (!data.containsKey(columnName)) {
             throw new IllegalArgumentException("Column " + columnName + " not found");
         }
         Map<String, List<Object>> specificColumn = new LinkedHashMap<>();
-        specificColumn.put(columnName, new ArrayList<>(data.get(columnName)));
+        specificColumn.put(columnName, data.get(columnName)); // projections share the column, values are never modified in place
         return new DataFrame(specificColumn);
     }
 
@@ -203,7 +295,7 @@ public class DataFrame {
         Map<String, List<Object>> listColumns = new LinkedHashMap<>();
         
         for(String col: columnNames) {
-            listColumns.put(col, new ArrayList<>(data.get(col)));
+            listColumns.put(col, data.get(col));
         }
         return new DataFrame(listColumns);
     }
@@ -232,7 +324,7 @@ public class DataFrame {
     }
 
     public DataFrame withColumn(String name, List<Object> values) {
-        data.put(name, values);
+        data.put(name, typed(values));
         DataFrame df = new DataFrame(data);
         return df;
     }
@@ -264,7 +356,7 @@ public class DataFrame {
 
         df.data.remove(oldColumn);
 
-        df.data.put(newColumn, values);
+        df.data.put(newColumn, typed(values));
 
         return df;
     }
@@ -303,25 +395,9 @@ public class DataFrame {
         return new DataFrame(merged);
     }
 
-// Converts the entire DataFrame to a 2D double array
+    // Converts the entire DataFrame to a 2D double array (prefer toMatrix(), which avoids the jagged copy)
     public double[][] to2DArray() {
-        int rows = this.getCountRows();
-        int cols = this.getCountCols();
-        double[][] array = new double[rows][cols];
-
-        List<String> headers = new ArrayList<>(this.data.keySet());
-
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                Object val = this.data.get(headers.get(j)).get(i);
-                if (val == null) {
-                    array[i][j] = 0.0; // or handle null differently
-                } else {
-                    array[i][j] = Double.valueOf(val.toString());
-                }
-            }
-        }
-        return array;
+        return toMatrix(true).to2DArray();
     }
 
     // Converts a single-column DataFrame to a 1D double array
@@ -332,24 +408,71 @@ public class DataFrame {
         int rows = this.getCountRows();
         double[] array = new double[rows];
         String colName = this.data.keySet().iterator().next();
-        List<Object> values = this.data.get(colName);
-
-        for (int i = 0; i < rows; i++) {
-            Object val = values.get(i);
-            if (val == null) {
-                array[i] = 0.0; // or handle null differently
-            } else {
-                array[i] = Double.valueOf(val.toString());
-            }
-        }
+        column(colName).fillDoubles(0, rows, array, 0, 1, 0.0); // missing values become 0.0
         return array;
     }
+
+    // Converts the DataFrame to a flat row-major matrix, missing values become 0.0
+    public DenseMatrix toMatrix() {
+        return toMatrix(true);
+    }
+
+    // fills the matrix column by column from primitive storage, in parallel for large frames
+    public DenseMatrix toMatrix(boolean rowMajor) {
+        int rows = this.getCountRows();
+        List<String> headers = new ArrayList<>(this.data.keySet());
+        int cols = headers.size();
+        Column[] columns = new Column[cols];
+        for (int j = 0; j < cols; j++) {
+            columns[j] = column(headers.get(j));
+        }
+
+        DenseMatrix matrix = new DenseMatrix(rows, cols, rowMajor);
+        double[] out = matrix.getData();
+        boolean parallel = (long) rows * cols >= PARALLEL_MATRIX_CELLS;
+        if (rowMajor) {
+            // each task owns a block of rows, so threads never write to the same cache lines
+            int blockRows = Math.max(1024, rows / (4 * ForkJoinPool.getCommonPoolParallelism()));
+            int blocks = (rows + blockRows - 1) / blockRows;
+            IntStream tasks = IntStream.range(0, blocks);
+            (parallel ? tasks.parallel() : tasks).forEach(b -> {
+                int from = b * blockRows;
+                int to = Math.min(rows, from + blockRows);
+                for (int j = 0; j < cols; j++) {
+                    columns[j].fillDoubles(from, to, out, from * cols + j, cols, 0.0);
+                }
+            });
+        } else {
+            IntStream tasks = IntStream.range(0, cols);
+            (parallel ? tasks.parallel() : tasks).forEach(j -> columns[j].fillDoubles(0, rows, out, j * rows, 1, 0.0));
+        }
+        return matrix;
+    }
+
     public DataFrame selectRows(List<Integer> indices) {
+        int[] rows = new int[indices.size()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = indices.get(i);
+        }
+        return selectOwnedRows(rows);
+    }
+
+    // typed columns become index views over the shared storage; the index array is copied first
+    public DataFrame selectRows(int[] indices) {
+        return selectOwnedRows(indices.clone());
+    }
+
+    // no-copy variant for index arrays nobody else holds, e.g. a fresh sort order or filter result
+    DataFrame selectOwnedRows(int[] indices) {
         Map<String, List<Object>> selected = new LinkedHashMap<>();
 
         for (String col : this.data.keySet()) {
             List<Object> column = this.data.get(col);
-            List<Object> newCol = new ArrayList<>();
+            if (column instanceof Column) {
+                selected.put(col, IndexedColumn.of((Column) column, indices));
+                continue;
+            }
+            List<Object> newCol = new ArrayList<>(indices.length);
 
             for (int idx : indices) {
                 newCol.add(column.get(idx));
@@ -361,6 +484,55 @@ public class DataFrame {
         return new DataFrame(selected);
     }
 
+    // rows matching the filter, as views over this DataFrame's storage
+    public DataFrame filter(Filter filter) {
+        return filter(filter.evaluate(this));
+    }
+
+    public DataFrame filter(RowMask mask) {
+        if (mask.size() != this.getCountRows()) {
+            throw new IllegalArgumentException("Mask covers " + mask.size() + " rows, DataFrame has " + this.getCountRows());
+        }
+        return selectOwnedRows(mask.toIndices());
+    }
+
+    // rows ordered by the keys, the first key most significant; equal rows keep their order
+    public DataFrame sortBy(SortKey... keys) {
+        return sortBy(Arrays.asList(keys));
+    }
+
+    public DataFrame sortBy(List<SortKey> keys) {
+        return selectOwnedRows(Sorter.order(this, keys));
+    }
+
+    // groups rows by the key columns; aggregate with agg(...) on the result
+    public GroupBy groupBy(String... keys) {
+        return new GroupBy(this, Arrays.asList(keys));
+    }
+
+    public GroupBy groupBy(List<String> keys) {
+        return new GroupBy(this, keys);
+    }
+
+    // inner join on key columns present in both frames
+    public DataFrame join(DataFrame other, String... keys) {
+        return join(other, Arrays.asList(keys), JoinType.INNER);
+    }
+
+    public DataFrame join(DataFrame other, List<String> keys, JoinType type) {
+        return HashJoin.join(this, other, keys, type);
+    }
+
+    // copies view columns into their own storage, e.g. before the frame they point into is dropped
+    public DataFrame materialize() {
+        Map<String, List<Object>> copy = new LinkedHashMap<>();
+        for (String col : this.data.keySet()) {
+            List<Object> column = this.data.get(col);
+            copy.put(col, column instanceof Column ? ((Column) column).materialize() : new ArrayList<>(column));
+        }
+        return new DataFrame(copy);
+    }
+
 
 }
 
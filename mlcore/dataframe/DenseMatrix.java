@@ -0,0 +1,83 @@
+package mlcore.dataframe;
+
+/**
+ * Dense matrix of doubles stored in one flat array.
+ *
+ * In row-major layout element (i, j) is at {@code data[i * stride + j]}, in column-major
+ * layout at {@code data[j * stride + i]}. The stride equals the number of columns
+ * (row-major) or rows (column-major). Models read the array directly instead of going
+ * through a jagged {@code double[][]}.
+ */
+public class DenseMatrix {
+
+    private final double[] data;
+    private final int rows;
+    private final int cols;
+    private final boolean rowMajor;
+
+    public DenseMatrix(double[] data, int rows, int cols, boolean rowMajor) {
+        if ((long) rows * cols > data.length) {
+            throw new IllegalArgumentException("Array of length " + data.length + " cannot hold a " + rows + "x" + cols + " matrix");
+        }
+        this.data = data;
+        this.rows = rows;
+        this.cols = cols;
+        this.rowMajor = rowMajor;
+    }
+
+    public DenseMatrix(int rows, int cols, boolean rowMajor) {
+        this(new double[checkedSize(rows, cols)], rows, cols, rowMajor);
+    }
+
+    private static int checkedSize(int rows, int cols) {
+        long size = (long) rows * cols;
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("A " + rows + "x" + cols + " matrix does not fit in one array");
+        }
+        return (int) size;
+    }
+
+    public double get(int i, int j) {
+        return rowMajor ? data[i * cols + j] : data[j * rows + i];
+    }
+
+    public void set(int i, int j, double value) {
+        if (rowMajor) {
+            data[i * cols + j] = value;
+        } else {
+            data[j * rows + i] = value;
+        }
+    }
+
+    // backing array, shared with the caller
+    public double[] getData() {
+        return data;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public boolean isRowMajor() {
+        return rowMajor;
+    }
+
+    // distance between consecutive rows (row-major) or columns (column-major)
+    public int getStride() {
+        return rowMajor ? cols : rows;
+    }
+
+    public double[][] to2DArray() {
+        double[][] array = new double[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                array[i][j] = get(i, j);
+            }
+        }
+        return array;
+    }
+}
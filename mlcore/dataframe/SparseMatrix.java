@@ -0,0 +1,175 @@
+package mlcore.dataframe;
+
+import java.util.Arrays;
+
+/**
+ * Sparse matrix of doubles in compressed sparse row (CSR) layout.
+ *
+ * The non-zeros of row i are at positions {@code rowPointers[i]} to
+ * {@code rowPointers[i + 1] - 1} of {@code columnIndices} and {@code values}, with column
+ * indices increasing within a row. Used for one-hot and hashed features, where a row has
+ * a handful of non-zeros out of thousands of columns; models read the arrays directly.
+ */
+public class SparseMatrix {
+
+    private final int[] rowPointers;
+    private final int[] columnIndices;
+    private final double[] values;
+    private final int rows;
+    private final int cols;
+
+    public SparseMatrix(int[] rowPointers, int[] columnIndices, double[] values, int rows, int cols) {
+        if (rowPointers.length != rows + 1) {
+            throw new IllegalArgumentException("Expected " + (rows + 1) + " row pointers, got " + rowPointers.length);
+        }
+        int nonZeros = rowPointers[rows];
+        if (columnIndices.length < nonZeros || values.length < nonZeros) {
+            throw new IllegalArgumentException("Index and value arrays must hold " + nonZeros + " non-zeros");
+        }
+        this.rowPointers = rowPointers;
+        this.columnIndices = columnIndices;
+        this.values = values;
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    // non-zeros of a dense matrix
+    public static SparseMatrix of(DenseMatrix dense) {
+        int rows = dense.getRows();
+        int cols = dense.getCols();
+        int[] pointers = new int[rows + 1];
+        for (int i = 0; i < rows; i++) {
+            int count = 0;
+            for (int j = 0; j < cols; j++) {
+                if (dense.get(i, j) != 0) count++;
+            }
+            pointers[i + 1] = pointers[i] + count;
+        }
+        int[] indices = new int[pointers[rows]];
+        double[] values = new double[pointers[rows]];
+        for (int i = 0, at = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                double v = dense.get(i, j);
+                if (v != 0) {
+                    indices[at] = j;
+                    values[at++] = v;
+                }
+            }
+        }
+        return new SparseMatrix(pointers, indices, values, rows, cols);
+    }
+
+    // matrices side by side, e.g. numeric features next to one-hot blocks
+    public static SparseMatrix hstack(SparseMatrix... blocks) {
+        if (blocks.length == 0) {
+            throw new IllegalArgumentException("At least one matrix is required");
+        }
+        int rows = blocks[0].rows;
+        int cols = 0;
+        int nonZeros = 0;
+        for (SparseMatrix block : blocks) {
+            if (block.rows != rows) {
+                throw new IllegalArgumentException("Matrices have " + rows + " and " + block.rows + " rows");
+            }
+            cols += block.cols;
+            nonZeros += block.getNonZeros();
+        }
+        int[] pointers = new int[rows + 1];
+        int[] indices = new int[nonZeros];
+        double[] values = new double[nonZeros];
+        int at = 0;
+        for (int i = 0; i < rows; i++) {
+            int offset = 0;
+            for (SparseMatrix block : blocks) {
+                for (int p = block.rowPointers[i]; p < block.rowPointers[i + 1]; p++) {
+                    indices[at] = block.columnIndices[p] + offset;
+                    values[at++] = block.values[p];
+                }
+                offset += block.cols;
+            }
+            pointers[i + 1] = at;
+        }
+        return new SparseMatrix(pointers, indices, values, rows, cols);
+    }
+
+    public double get(int i, int j) {
+        int p = Arrays.binarySearch(columnIndices, rowPointers[i], rowPointers[i + 1], j);
+        return p >= 0 ? values[p] : 0.0;
+    }
+
+    // dot product of row i with a dense vector of length cols
+    public double dot(int i, double[] vector) {
+        double sum = 0.0;
+        for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+            sum += values[p] * vector[columnIndices[p]];
+        }
+        return sum;
+    }
+
+    // adds scale * row i to a dense vector of length cols
+    public void addRowTo(int i, double scale, double[] vector) {
+        for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+            vector[columnIndices[p]] += scale * values[p];
+        }
+    }
+
+    // squared Euclidean distance between row i and row k of other, merging the sorted indices
+    public double squaredDistance(int i, SparseMatrix other, int k) {
+        int p = rowPointers[i];
+        int pEnd = rowPointers[i + 1];
+        int q = other.rowPointers[k];
+        int qEnd = other.rowPointers[k + 1];
+        double sum = 0.0;
+        while (p < pEnd && q < qEnd) {
+            int a = columnIndices[p];
+            int b = other.columnIndices[q];
+            double diff;
+            if (a == b) {
+                diff = values[p++] - other.values[q++];
+            } else if (a < b) {
+                diff = values[p++];
+            } else {
+                diff = other.values[q++];
+            }
+            sum += diff * diff;
+        }
+        for (; p < pEnd; p++) sum += values[p] * values[p];
+        for (; q < qEnd; q++) sum += other.values[q] * other.values[q];
+        return sum;
+    }
+
+    public DenseMatrix toDense() {
+        DenseMatrix dense = new DenseMatrix(rows, cols, true);
+        for (int i = 0; i < rows; i++) {
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                dense.set(i, columnIndices[p], values[p]);
+            }
+        }
+        return dense;
+    }
+
+    // backing arrays, shared with the caller
+    public int[] getRowPointers() {
+        return rowPointers;
+    }
+
+    public int[] getColumnIndices() {
+        return columnIndices;
+    }
+
+    public double[] getValues() {
+        return values;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getNonZeros() {
+        return rowPointers[rows];
+    }
+}
@@ -0,0 +1,52 @@
+package mlcore.dataframe.columns;
+
+// boolean column stored as a bit set, one bit per row
+public class BooleanColumn extends Column {
+
+    private final long[] bits;
+    private final long[] nulls;
+
+    public BooleanColumn(long[] bits, long[] nulls, int size) {
+        super(size);
+        this.bits = bits;
+        this.nulls = nulls;
+    }
+
+    @Override
+    public ColumnType type() {
+        return ColumnType.BOOLEAN;
+    }
+
+    @Override
+    public boolean isNull(int i) {
+        return NullMask.isSet(nulls, i);
+    }
+
+    @Override
+    public boolean getBoolean(int i) {
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    @Override
+    public double getDouble(int i) {
+        if (isNull(i)) return Double.NaN;
+        return getBoolean(i) ? 1.0 : 0.0;
+    }
+
+    @Override
+    protected Object getValue(int i) {
+        return getBoolean(i);
+    }
+
+    @Override
+    public void nullMask(long[] mask) {
+        if (nulls == null) return;
+        int words = (size + 63) >>> 6;
+        for (int w = 0; w < words; w++) mask[w] |= nulls[w];
+    }
+
+    @Override
+    public int nullCount() {
+        return NullMask.count(nulls, size);
+    }
+}
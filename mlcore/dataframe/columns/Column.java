@@ -0,0 +1,171 @@
+package mlcore.dataframe.columns;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Base class of the typed, primitive-backed DataFrame columns.
+ *
+ * A column is an immutable {@code List<Object>}, so it can sit in the
+ * {@code Map<String, List<Object>>} returned by {@code DataFrame.getData()} and every
+ * existing caller keeps working. {@link #get(int)} boxes on demand; hot paths should use
+ * the typed accessors ({@link #getDouble(int)}, {@link #isNull(int)}) instead.
+ */
+public abstract class Column extends AbstractList<Object> implements RandomAccess {
+
+    protected final int size;
+
+    // statistics computed on first use; caching is safe because columns never change
+    private volatile ColumnStats stats;
+    private volatile double[] quartiles;
+
+    protected Column(int size) {
+        this.size = size;
+    }
+
+    public abstract ColumnType type();
+
+    // true when the value at row i is missing
+    public abstract boolean isNull(int i);
+
+    // numeric value of row i, NaN when missing
+    public abstract double getDouble(int i);
+
+    // boxed value of a non-missing row
+    protected abstract Object getValue(int i);
+
+    // typed accessors, supported by the columns of the matching type and by views over them
+
+    public int getInt(int i) {
+        throw unsupported("int");
+    }
+
+    public long getLong(int i) {
+        throw unsupported("long");
+    }
+
+    public boolean getBoolean(int i) {
+        throw unsupported("boolean");
+    }
+
+    // dictionary code of a STRING row, StringColumn.NULL_CODE when missing
+    public int getCode(int i) {
+        throw unsupported("dictionary code");
+    }
+
+    public String getString(int i) {
+        throw unsupported("string");
+    }
+
+    public int dictionarySize() {
+        throw unsupported("dictionary");
+    }
+
+    public String dictionaryValue(int code) {
+        throw unsupported("dictionary");
+    }
+
+    private UnsupportedOperationException unsupported(String what) {
+        return new UnsupportedOperationException(type() + " column has no " + what + " values");
+    }
+
+    /**
+     * Writes the numeric values of rows [from, to) into {@code dst}: row {@code i} goes to
+     * {@code dst[offset + (i - from) * stride]} and missing rows get {@code missing}.
+     * Used to fill row- or column-major matrices straight from primitive storage.
+     */
+    public void fillDoubles(int from, int to, double[] dst, int offset, int stride, double missing) {
+        for (int i = from, at = offset; i < to; i++, at += stride) {
+            dst[at] = isNull(i) ? missing : getDouble(i);
+        }
+    }
+
+    /**
+     * Sets bit {@code i} of {@code mask} for every non-missing row whose value satisfies
+     * {@code value op operand}. The mask must hold at least {@code (size + 63) / 64} words
+     * and is OR-ed into, so callers start from a cleared array.
+     */
+    public void compareMask(CompareOp op, double operand, long[] mask) {
+        for (int i = 0; i < size; i++) {
+            if (!isNull(i) && op.test(getDouble(i), operand)) mask[i >>> 6] |= 1L << i;
+        }
+    }
+
+    // sets the bits of the missing rows
+    public void nullMask(long[] mask) {
+        for (int i = 0; i < size; i++) {
+            if (isNull(i)) mask[i >>> 6] |= 1L << i;
+        }
+    }
+
+    // sets the bits of STRING rows whose dictionary code is flagged in matches
+    public void codeMask(boolean[] matches, long[] mask) {
+        for (int i = 0; i < size; i++) {
+            int code = getCode(i);
+            if (code != StringColumn.NULL_CODE && matches[code]) mask[i >>> 6] |= 1L << i;
+        }
+    }
+
+    // count, nulls, min, max, sum, mean and variance, computed once per column
+    public ColumnStats stats() {
+        ColumnStats cached = stats;
+        if (cached == null) {
+            cached = ColumnStats.of(this);
+            stats = cached;
+        }
+        return cached;
+    }
+
+    // seeds the cache with statistics known from elsewhere, e.g. a file footer written from this data
+    public void cacheStats(ColumnStats known) {
+        stats = known;
+    }
+
+    // {Q1, median, Q3} of the numeric values, computed once; NaN when there are none
+    public double[] quartiles() {
+        double[] cached = quartiles;
+        if (cached == null) {
+            cached = Quantiles.quartiles(Quantiles.values(this));
+            quartiles = cached;
+        }
+        return cached.clone();
+    }
+
+    // columns owning their storage return themselves; views copy the rows they expose
+    public Column materialize() {
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Object get(int i) {
+        Objects.checkIndex(i, size);
+        return isNull(i) ? null : getValue(i);
+    }
+
+    public int nullCount() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (isNull(i)) count++;
+        }
+        return count;
+    }
+
+    // returns the list itself when it already is a column, otherwise builds a typed copy
+    public static Column of(List<?> values) {
+        if (values instanceof Column) {
+            return (Column) values;
+        }
+        ColumnBuilder builder = new ColumnBuilder(values.size());
+        for (Object val : values) {
+            builder.append(val);
+        }
+        return builder.build();
+    }
+}
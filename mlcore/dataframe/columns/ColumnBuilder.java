@@ -0,0 +1,238 @@
+package mlcore.dataframe.columns;
+
+import java.util.Arrays;
+
+/**
+ * Appends values into primitive storage and produces a typed {@link Column}.
+ *
+ * The builder starts untyped and settles on the type of the first non-null value,
+ * unless it is created with a type up front.
+ * Later values promote the storage when needed: INT to LONG to DOUBLE for numbers,
+ * and any mix of numbers, booleans and strings falls back to an OBJECT column so that
+ * no value is lost.
+ */
+public class ColumnBuilder {
+
+    private ColumnType type;   // null while only nulls have been appended
+    private int size;
+    private int capacity;
+
+    private int[] ints;
+    private long[] longs;
+    private double[] doubles;
+    private long[] bools;
+    private int[] codes;
+    private StringDictionary dictionary;
+    private Object[] objects;
+    private long[] nulls;
+
+    public ColumnBuilder() {
+        this(16);
+    }
+
+    public ColumnBuilder(int expectedSize) {
+        this.capacity = Math.max(expectedSize, 4);
+    }
+
+    // starts with storage of a known type, e.g. from a schema; values of other types still promote
+    public ColumnBuilder(ColumnType type, int expectedSize) {
+        this(expectedSize);
+        if (type != null) {
+            becomeType(type);
+        }
+    }
+
+    public ColumnType type() {
+        return type;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void appendNull() {
+        ensureCapacity();
+        nulls = NullMask.grow(nulls, size + 1);
+        NullMask.set(nulls, size);
+        if (type == ColumnType.STRING) {
+            codes[size] = StringColumn.NULL_CODE;
+        }
+        size++;
+    }
+
+    public void appendInt(int v) {
+        if (type == null) becomeType(ColumnType.INT);
+        ensureCapacity();
+        switch (type) {
+            case INT -> ints[size] = v;
+            case LONG -> longs[size] = v;
+            case DOUBLE -> doubles[size] = v;
+            default -> {
+                promoteToObject();
+                objects[size] = v;
+            }
+        }
+        size++;
+    }
+
+    public void appendLong(long v) {
+        if (type == null) becomeType(ColumnType.LONG);
+        if (type == ColumnType.INT) promoteToLong();
+        ensureCapacity();
+        switch (type) {
+            case LONG -> longs[size] = v;
+            case DOUBLE -> doubles[size] = v;
+            default -> {
+                promoteToObject();
+                objects[size] = v;
+            }
+        }
+        size++;
+    }
+
+    public void appendDouble(double v) {
+        if (type == null) becomeType(ColumnType.DOUBLE);
+        if (type == ColumnType.INT || type == ColumnType.LONG) promoteToDouble();
+        ensureCapacity();
+        if (type == ColumnType.DOUBLE) {
+            doubles[size] = v;
+        } else {
+            promoteToObject();
+            objects[size] = v;
+        }
+        size++;
+    }
+
+    public void appendBoolean(boolean v) {
+        if (type == null) becomeType(ColumnType.BOOLEAN);
+        ensureCapacity();
+        if (type == ColumnType.BOOLEAN) {
+            if (v) bools[size >>> 6] |= 1L << size;
+        } else {
+            promoteToObject();
+            objects[size] = v;
+        }
+        size++;
+    }
+
+    public void appendString(String v) {
+        if (v == null) {
+            appendNull();
+            return;
+        }
+        if (type == null) becomeType(ColumnType.STRING);
+        ensureCapacity();
+        if (type == ColumnType.STRING) {
+            codes[size] = dictionary.getOrAdd(v);
+        } else {
+            promoteToObject();
+            objects[size] = v;
+        }
+        size++;
+    }
+
+    // appends a boxed value, dispatching to the matching primitive append
+    public void append(Object v) {
+        if (v == null) {
+            appendNull();
+        } else if (v instanceof Integer || v instanceof Short || v instanceof Byte) {
+            appendInt(((Number) v).intValue());
+        } else if (v instanceof Long) {
+            appendLong((Long) v);
+        } else if (v instanceof Double || v instanceof Float) {
+            appendDouble(((Number) v).doubleValue());
+        } else if (v instanceof Boolean) {
+            appendBoolean((Boolean) v);
+        } else if (v instanceof String) {
+            appendString((String) v);
+        } else {
+            if (type == null) becomeType(ColumnType.OBJECT);
+            ensureCapacity();
+            promoteToObject();
+            objects[size] = v;
+            size++;
+        }
+    }
+
+    public Column build() {
+        if (type == null) {
+            // only nulls (or nothing) were appended
+            return new ObjectColumn(new Object[size], size);
+        }
+        // the mask only grew up to the last null, columns expect it to cover every row
+        long[] nulls = this.nulls == null ? null : NullMask.grow(this.nulls, size);
+        return switch (type) {
+            case INT -> new IntColumn(ints, nulls, size);
+            case LONG -> new LongColumn(longs, nulls, size);
+            case DOUBLE -> new DoubleColumn(doubles, nulls, size);
+            case BOOLEAN -> new BooleanColumn(bools, nulls, size);
+            case STRING -> new StringColumn(codes, dictionary.toArray(), size);
+            case OBJECT -> new ObjectColumn(objects, size);
+        };
+    }
+
+    private void becomeType(ColumnType newType) {
+        type = newType;
+        switch (newType) {
+            case INT -> ints = new int[capacity];
+            case LONG -> longs = new long[capacity];
+            case DOUBLE -> doubles = new double[capacity];
+            case BOOLEAN -> bools = NullMask.create(capacity);
+            case STRING -> {
+                codes = new int[capacity];
+                Arrays.fill(codes, 0, size, StringColumn.NULL_CODE);
+                dictionary = new StringDictionary();
+            }
+            case OBJECT -> objects = new Object[capacity];
+        }
+    }
+
+    private void ensureCapacity() {
+        if (size < capacity) return;
+        capacity = capacity + (capacity >> 1) + 1;
+        if (type == null) return;
+        switch (type) {
+            case INT -> ints = Arrays.copyOf(ints, capacity);
+            case LONG -> longs = Arrays.copyOf(longs, capacity);
+            case DOUBLE -> doubles = Arrays.copyOf(doubles, capacity);
+            case BOOLEAN -> bools = NullMask.grow(bools, capacity);
+            case STRING -> codes = Arrays.copyOf(codes, capacity);
+            case OBJECT -> objects = Arrays.copyOf(objects, capacity);
+        }
+    }
+
+    private void promoteToLong() {
+        longs = new long[capacity];
+        for (int i = 0; i < size; i++) longs[i] = ints[i];
+        ints = null;
+        type = ColumnType.LONG;
+    }
+
+    private void promoteToDouble() {
+        doubles = new double[capacity];
+        if (type == ColumnType.INT) {
+            for (int i = 0; i < size; i++) doubles[i] = ints[i];
+        } else {
+            for (int i = 0; i < size; i++) doubles[i] = longs[i];
+        }
+        ints = null;
+        longs = null;
+        type = ColumnType.DOUBLE;
+    }
+
+    private void promoteToObject() {
+        if (type == ColumnType.OBJECT) return;
+        Column current = build();
+        objects = new Object[capacity];
+        for (int i = 0; i < size; i++) {
+            objects[i] = current.get(i);
+        }
+        ints = null;
+        longs = null;
+        doubles = null;
+        bools = null;
+        codes = null;
+        dictionary = null;
+        type = ColumnType.OBJECT;
+    }
+}
@@ -0,0 +1,135 @@
+package mlcore.dataframe.columns;
+
+/**
+ * Summary statistics of one column, computed in a single pass.
+ *
+ * Mean and variance use Welford's update, and two partial results can be combined with
+ * {@link #merge}, so statistics can be computed per chunk or per thread. For
+ * non-numeric columns only the counts are meaningful; the other values are NaN.
+ */
+public class ColumnStats {
+
+    private final long count;      // non-missing values
+    private final long nullCount;
+    private final double min;
+    private final double max;
+    private final double sum;
+    private final double mean;
+    private final double m2;       // sum of squared deviations from the mean
+
+    public ColumnStats(long count, long nullCount, double min, double max, double sum, double mean, double m2) {
+        this.count = count;
+        this.nullCount = nullCount;
+        this.min = min;
+        this.max = max;
+        this.sum = sum;
+        this.mean = mean;
+        this.m2 = m2;
+    }
+
+    public static ColumnStats of(Column column) {
+        return of(column, 0, column.size());
+    }
+
+    // statistics of rows [from, to)
+    public static ColumnStats of(Column column, int from, int to) {
+        if (!column.type().isNumeric() && column.type() != ColumnType.BOOLEAN) {
+            int nulls = 0;
+            for (int i = from; i < to; i++) {
+                if (column.isNull(i)) nulls++;
+            }
+            return new ColumnStats(to - from - nulls, nulls, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+        }
+
+        long n = 0;
+        long nulls = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double sum = 0.0;
+        double mean = 0.0;
+        double m2 = 0.0;
+        for (int i = from; i < to; i++) {
+            if (column.isNull(i)) {
+                nulls++;
+                continue;
+            }
+            double x = column.getDouble(i);
+            n++;
+            sum += x;
+            double delta = x - mean;
+            mean += delta / n;
+            m2 += delta * (x - mean);
+            if (x < min) min = x;
+            if (x > max) max = x;
+        }
+        if (n == 0) {
+            return new ColumnStats(0, nulls, Double.NaN, Double.NaN, 0.0, Double.NaN, Double.NaN);
+        }
+        return new ColumnStats(n, nulls, min, max, sum, mean, m2);
+    }
+
+    // combines the statistics of two disjoint sets of rows (Chan et al. parallel update)
+    public ColumnStats merge(ColumnStats other) {
+        if (other.count == 0) {
+            return new ColumnStats(count, nullCount + other.nullCount, min, max, sum, mean, m2);
+        }
+        if (count == 0) {
+            return new ColumnStats(other.count, nullCount + other.nullCount, other.min, other.max, other.sum, other.mean, other.m2);
+        }
+        long n = count + other.count;
+        double delta = other.mean - mean;
+        double newMean = mean + delta * other.count / n;
+        double newM2 = m2 + other.m2 + delta * delta * ((double) count * other.count / n);
+        return new ColumnStats(n, nullCount + other.nullCount, Math.min(min, other.min), Math.max(max, other.max),
+                sum + other.sum, newMean, newM2);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getNullCount() {
+        return nullCount;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    // sum of squared deviations from the mean
+    public double getM2() {
+        return m2;
+    }
+
+    // population variance (divides by n)
+    public double getVariance() {
+        return count == 0 ? Double.NaN : m2 / count;
+    }
+
+    // sample variance (divides by n - 1)
+    public double getSampleVariance() {
+        return count < 2 ? Double.NaN : m2 / (count - 1);
+    }
+
+    public double getStd() {
+        return Math.sqrt(getVariance());
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnStats{count=" + count + ", nulls=" + nullCount + ", mean=" + mean
+                + ", std=" + getStd() + ", min=" + min + ", max=" + max + ", sum=" + sum + "}";
+    }
+}
@@ -0,0 +1,15 @@
+package mlcore.dataframe.columns;
+
+// physical storage type of a typed column
+public enum ColumnType {
+    INT,
+    LONG,
+    DOUBLE,
+    BOOLEAN,
+    STRING,
+    OBJECT;
+
+    public boolean isNumeric() {
+        return this == INT || this == LONG || this == DOUBLE;
+    }
+}
@@ -0,0 +1,117 @@
+package mlcore.dataframe.columns;
+
+/**
+ * Base class of the columns that expose rows of another column without copying them.
+ *
+ * Row {@code i} of the view is row {@link #row(int)} of the source column, or a missing
+ * value when that is {@code -1}. Since columns are immutable the view stays valid for as
+ * long as it is referenced; {@link #materialize()} copies the exposed rows into a column
+ * with its own storage, e.g. to release a large source.
+ */
+public abstract class ColumnView extends Column {
+
+    protected final Column source;
+
+    protected ColumnView(Column source, int size) {
+        super(size);
+        this.source = source;
+    }
+
+    // row of the source column backing row i of this view, -1 for a missing value
+    protected abstract int row(int i);
+
+    public Column source() {
+        return source;
+    }
+
+    @Override
+    public ColumnType type() {
+        return source.type();
+    }
+
+    @Override
+    public boolean isNull(int i) {
+        int r = row(i);
+        return r < 0 || source.isNull(r);
+    }
+
+    @Override
+    public double getDouble(int i) {
+        int r = row(i);
+        return r < 0 ? Double.NaN : source.getDouble(r);
+    }
+
+    @Override
+    protected Object getValue(int i) {
+        return source.getValue(row(i));
+    }
+
+    @Override
+    public int getInt(int i) {
+        return source.getInt(row(i));
+    }
+
+    @Override
+    public long getLong(int i) {
+        return source.getLong(row(i));
+    }
+
+    @Override
+    public boolean getBoolean(int i) {
+        return source.getBoolean(row(i));
+    }
+
+    @Override
+    public int getCode(int i) {
+        int r = row(i);
+        return r < 0 ? StringColumn.NULL_CODE : source.getCode(r);
+    }
+
+    @Override
+    public String getString(int i) {
+        int r = row(i);
+        return r < 0 ? null : source.getString(r);
+    }
+
+    @Override
+    public int dictionarySize() {
+        return source.dictionarySize();
+    }
+
+    @Override
+    public String dictionaryValue(int code) {
+        return source.dictionaryValue(code);
+    }
+
+    @Override
+    public Column materialize() {
+        if (type() == ColumnType.STRING) {
+            // the dictionary is immutable, only the codes are gathered
+            int[] codes = new int[size];
+            for (int i = 0; i < size; i++) {
+                codes[i] = getCode(i);
+            }
+            String[] dictionary = new String[dictionarySize()];
+            for (int code = 0; code < dictionary.length; code++) {
+                dictionary[code] = dictionaryValue(code);
+            }
+            return new StringColumn(codes, dictionary, size);
+        }
+
+        ColumnBuilder builder = new ColumnBuilder(type(), size);
+        for (int i = 0; i < size; i++) {
+            if (isNull(i)) {
+                builder.appendNull();
+                continue;
+            }
+            switch (type()) {
+                case INT -> builder.appendInt(getInt(i));
+                case LONG -> builder.appendLong(getLong(i));
+                case DOUBLE -> builder.appendDouble(getDouble(i));
+                case BOOLEAN -> builder.appendBoolean(getBoolean(i));
+                default -> builder.append(getValue(i));
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,22 @@
+package mlcore.dataframe.columns;
+
+// comparison used by the vectorised column filters
+public enum CompareOp {
+    LT,
+    LE,
+    GT,
+    GE,
+    EQ,
+    NE;
+
+    public boolean test(double a, double b) {
+        return switch (this) {
+            case LT -> a < b;
+            case LE -> a <= b;
+            case GT -> a > b;
+            case GE -> a >= b;
+            case EQ -> a == b;
+            case NE -> a != b;
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package mlcore.dataframe.columns;
+
+import java.util.Objects;
+
+/**
+ * View that selects rows of another column by index, in any order and with repeats.
+ * An index of {@code -1} yields a missing value (used for unmatched join rows).
+ */
+public class IndexedColumn extends ColumnView {
+
+    private final int[] rows;
+
+    private IndexedColumn(Column source, int[] rows) {
+        super(source, rows.length);
+        this.rows = rows;
+    }
+
+    // the index array is not copied and must not be modified afterwards
+    public static Column of(Column source, int[] rows) {
+        int n = source.size();
+        for (int r : rows) {
+            if (r != -1) Objects.checkIndex(r, n);
+        }
+        if (source instanceof IndexedColumn) {
+            // compose the two selections instead of stacking views
+            int[] inner = ((IndexedColumn) source).rows;
+            int[] composed = new int[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                composed[i] = rows[i] < 0 ? -1 : inner[rows[i]];
+            }
+            return new IndexedColumn(((IndexedColumn) source).source, composed);
+        }
+        if (source instanceof SliceColumn) {
+            SliceColumn slice = (SliceColumn) source;
+            int[] composed = new int[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                composed[i] = rows[i] < 0 ? -1 : slice.row(rows[i]);
+            }
+            return new IndexedColumn(slice.source, composed);
+        }
+        return new IndexedColumn(source, rows);
+    }
+
+    @Override
+    protected int row(int i) {
+        return rows[i];
+    }
+}
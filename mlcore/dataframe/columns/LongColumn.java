@@ -0,0 +1,107 @@
+package mlcore.dataframe.columns;
+
+// 64-bit integer column backed by a long[]
+public class LongColumn extends Column {
+
+    private final long[] values;
+    private final long[] nulls;
+
+    public LongColumn(long[] values, long[] nulls, int size) {
+        super(size);
+        this.values = values;
+        this.nulls = nulls;
+    }
+
+    public LongColumn(long[] values) {
+        this(values, null, values.length);
+    }
+
+    @Override
+    public ColumnType type() {
+        return ColumnType.LONG;
+    }
+
+    @Override
+    public boolean isNull(int i) {
+        return NullMask.isSet(nulls, i);
+    }
+
+    @Override
+    public long getLong(int i) {
+        return values[i];
+    }
+
+    @Override
+    public double getDouble(int i) {
+        return isNull(i) ? Double.NaN : values[i];
+    }
+
+    @Override
+    protected Object getValue(int i) {
+        return values[i];
+    }
+
+    @Override
+    public void fillDoubles(int from, int to, double[] dst, int offset, int stride, double missing) {
+        if (nulls == null) {
+            for (int i = from, at = offset; i < to; i++, at += stride) {
+                dst[at] = values[i];
+            }
+            return;
+        }
+        super.fillDoubles(from, to, dst, offset, stride, missing);
+    }
+
+    @Override
+    public void compareMask(CompareOp op, double operand, long[] mask) {
+        // one loop per operator keeps the comparison out of the inner loop
+        switch (op) {
+            case LT -> {
+                for (int i = 0; i < size; i++) {
+                    mask[i >>> 6] |= (values[i] < operand ? 1L : 0L) << i;
+                }
+            }
+            case LE -> {
+                for (int i = 0; i < size; i++) {
+                    mask[i >>> 6] |= (values[i] <= operand ? 1L : 0L) << i;
+                }
+            }
+            case GT -> {
+                for (int i = 0; i < size; i++) {
+                    mask[i >>> 6] |= (values[i] > operand ? 1L : 0L) << i;
+                }
+            }
+            case GE -> {
+                for (int i = 0; i < size; i++) {
+                    mask[i >>> 6] |= (values[i] >= operand ? 1L : 0L) << i;
+                }
+            }
+            case EQ -> {
+                for (int i = 0; i < size; i++) {
+                    mask[i >>> 6] |= (values[i] == operand ? 1L : 0L) << i;
+                }
+            }
+            case NE -> {
+                for (int i = 0; i < size; i++) {
+                    mask[i >>> 6] |= (values[i] != operand ? 1L : 0L) << i;
+                }
+            }
+        }
+        if (nulls != null) {
+            int words = (size + 63) >>> 6;
+            for (int w = 0; w < words; w++) mask[w] &= ~nulls[w];
+        }
+    }
+
+    @Override
+    public void nullMask(long[] mask) {
+        if (nulls == null) return;
+        int words = (size + 63) >>> 6;
+        for (int w = 0; w < words; w++) mask[w] |= nulls[w];
+    }
+
+    @Override
+    public int nullCount() {
+        return NullMask.count(nulls, size);
+    }
+}
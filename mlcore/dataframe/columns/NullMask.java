@@ -0,0 +1,47 @@
+package mlcore.dataframe.columns;
+
+import java.util.Arrays;
+
+/**
+ * Helpers for the bit-packed null masks used by the primitive columns.
+ * A mask is a {@code long[]} where bit {@code i} is set when row {@code i} is missing.
+ * Columns without missing values keep a {@code null} mask.
+ */
+public final class NullMask {
+
+    private NullMask() {
+    }
+
+    public static long[] create(int capacity) {
+        return new long[(capacity + 63) >>> 6];
+    }
+
+    public static boolean isSet(long[] mask, int i) {
+        return mask != null && (mask[i >>> 6] & (1L << i)) != 0;
+    }
+
+    public static void set(long[] mask, int i) {
+        mask[i >>> 6] |= 1L << i;
+    }
+
+    public static long[] grow(long[] mask, int capacity) {
+        int words = (capacity + 63) >>> 6;
+        if (mask == null) return new long[words];
+        if (mask.length >= words) return mask;
+        return Arrays.copyOf(mask, Math.max(words, mask.length + (mask.length >> 1) + 1));
+    }
+
+    public static int count(long[] mask, int size) {
+        if (mask == null) return 0;
+        int fullWords = size >>> 6;
+        int count = 0;
+        for (int w = 0; w < fullWords; w++) {
+            count += Long.bitCount(mask[w]);
+        }
+        int rest = size & 63;
+        if (rest != 0) {
+            count += Long.bitCount(mask[fullWords] & ((1L << rest) - 1));
+        }
+        return count;
+    }
+}
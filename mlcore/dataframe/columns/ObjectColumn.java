@@ -0,0 +1,35 @@
+package mlcore.dataframe.columns;
+
+// fallback column for mixed or non-primitive values (dates, nested JSON, ...)
+public class ObjectColumn extends Column {
+
+    private final Object[] values;
+
+    public ObjectColumn(Object[] values, int size) {
+        super(size);
+        this.values = values;
+    }
+
+    @Override
+    public ColumnType type() {
+        return ColumnType.OBJECT;
+    }
+
+    @Override
+    public boolean isNull(int i) {
+        return values[i] == null;
+    }
+
+    @Override
+    public double getDouble(int i) {
+        Object val = values[i];
+        if (val == null) return Double.NaN;
+        if (val instanceof Number) return ((Number) val).doubleValue();
+        return Double.parseDouble(val.toString());
+    }
+
+    @Override
+    protected Object getValue(int i) {
+        return values[i];
+    }
+}
@@ -0,0 +1,202 @@
+package mlcore.dataframe.columns;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Column whose values live outside the Java heap, in direct or memory-mapped
+ * ByteBuffers, so large tables do not count against -Xmx and are never scanned by the GC.
+ *
+ * Values are little-endian and split into buffers of at most {@code 1 << CHUNK_SHIFT}
+ * values each, keeping every buffer under the 2GB ByteBuffer limit. BOOLEAN columns
+ * store one bit per row, STRING columns store int dictionary codes while the (small)
+ * dictionary stays on the heap. Null bitmaps use the same bit layout as {@link NullMask}.
+ */
+public class OffHeapColumn extends Column {
+
+    public static final int CHUNK_SHIFT = 27;
+    private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+
+    private final ColumnType type;
+    private final ByteBuffer[] chunks;   // BOOLEAN uses a single buffer of bit words
+    private final ByteBuffer nulls;      // bitmap words, null when nothing is missing
+    private final String[] dictionary;   // STRING only
+
+    public OffHeapColumn(ColumnType type, ByteBuffer[] chunks, ByteBuffer nulls, String[] dictionary, int size) {
+        super(size);
+        if (type == ColumnType.OBJECT) {
+            throw new IllegalArgumentException("OBJECT columns cannot be stored off-heap");
+        }
+        this.type = type;
+        this.chunks = chunks;
+        this.nulls = nulls;
+        this.dictionary = dictionary;
+    }
+
+    // copies a column into freshly allocated direct memory, which -XX:MaxDirectMemorySize caps at the heap size
+    // by default; DataFrame.toOffHeap maps a temporary file instead
+    public static OffHeapColumn copyOf(Column column) {
+        ColumnType type = column.type();
+        int n = column.size();
+        ByteBuffer[] chunks;
+        if (type == ColumnType.BOOLEAN) {
+            ByteBuffer bits = allocate(8L * ((n + 63) >>> 6));
+            for (int i = 0; i < n; i++) {
+                if (!column.isNull(i) && column.getBoolean(i)) {
+                    int at = (i >>> 6) << 3;
+                    bits.putLong(at, bits.getLong(at) | (1L << i));
+                }
+            }
+            chunks = new ByteBuffer[] {bits};
+        } else {
+            int width = width(type);
+            chunks = new ByteBuffer[chunkCount(n)];
+            for (int c = 0; c < chunks.length; c++) {
+                int from = c << CHUNK_SHIFT;
+                int count = Math.min(n - from, 1 << CHUNK_SHIFT);
+                ByteBuffer chunk = allocate((long) count * width);
+                for (int k = 0; k < count; k++) {
+                    int i = from + k;
+                    boolean missing = column.isNull(i);
+                    switch (type) {
+                        case INT -> chunk.putInt(k << 2, missing ? 0 : column.getInt(i));
+                        case LONG -> chunk.putLong(k << 3, missing ? 0L : column.getLong(i));
+                        case DOUBLE -> chunk.putDouble(k << 3, missing ? 0.0 : column.getDouble(i));
+                        default -> chunk.putInt(k << 2, column.getCode(i));
+                    }
+                }
+                chunks[c] = chunk;
+            }
+        }
+
+        ByteBuffer nullBits = null;
+        if (type != ColumnType.STRING && column.nullCount() > 0) {
+            nullBits = allocate(8L * ((n + 63) >>> 6));
+            for (int i = 0; i < n; i++) {
+                if (column.isNull(i)) {
+                    int at = (i >>> 6) << 3;
+                    nullBits.putLong(at, nullBits.getLong(at) | (1L << i));
+                }
+            }
+        }
+
+        String[] dictionary = null;
+        if (type == ColumnType.STRING) {
+            dictionary = new String[column.dictionarySize()];
+            for (int code = 0; code < dictionary.length; code++) {
+                dictionary[code] = column.dictionaryValue(code);
+            }
+        }
+        return new OffHeapColumn(type, chunks, nullBits, dictionary, n);
+    }
+
+    // bytes per value in the value buffers
+    public static int width(ColumnType type) {
+        return switch (type) {
+            case INT, STRING -> 4;
+            case LONG, DOUBLE -> 8;
+            default -> throw new IllegalArgumentException(type + " values have no fixed width");
+        };
+    }
+
+    public static int chunkCount(int size) {
+        return Math.max(1, (size + CHUNK_MASK) >>> CHUNK_SHIFT);
+    }
+
+    private static ByteBuffer allocate(long bytes) {
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    public ColumnType type() {
+        return type;
+    }
+
+    @Override
+    public boolean isNull(int i) {
+        if (type == ColumnType.STRING) return getCode(i) == StringColumn.NULL_CODE;
+        return nulls != null && (nulls.getLong((i >>> 6) << 3) & (1L << i)) != 0;
+    }
+
+    @Override
+    public int getInt(int i) {
+        if (type != ColumnType.INT) return super.getInt(i);
+        return chunks[i >>> CHUNK_SHIFT].getInt((i & CHUNK_MASK) << 2);
+    }
+
+    @Override
+    public long getLong(int i) {
+        if (type != ColumnType.LONG) return super.getLong(i);
+        return chunks[i >>> CHUNK_SHIFT].getLong((i & CHUNK_MASK) << 3);
+    }
+
+    @Override
+    public boolean getBoolean(int i) {
+        if (type != ColumnType.BOOLEAN) return super.getBoolean(i);
+        return (chunks[0].getLong((i >>> 6) << 3) & (1L << i)) != 0;
+    }
+
+    @Override
+    public int getCode(int i) {
+        if (type != ColumnType.STRING) return super.getCode(i);
+        return chunks[i >>> CHUNK_SHIFT].getInt((i & CHUNK_MASK) << 2);
+    }
+
+    @Override
+    public String getString(int i) {
+        if (type != ColumnType.STRING) return super.getString(i);
+        int code = getCode(i);
+        return code == StringColumn.NULL_CODE ? null : dictionary[code];
+    }
+
+    @Override
+    public int dictionarySize() {
+        if (type != ColumnType.STRING) return super.dictionarySize();
+        return dictionary.length;
+    }
+
+    @Override
+    public String dictionaryValue(int code) {
+        if (type != ColumnType.STRING) return super.dictionaryValue(code);
+        return dictionary[code];
+    }
+
+    @Override
+    public double getDouble(int i) {
+        if (isNull(i)) return Double.NaN;
+        return switch (type) {
+            case INT -> getInt(i);
+            case LONG -> getLong(i);
+            case DOUBLE -> chunks[i >>> CHUNK_SHIFT].getDouble((i & CHUNK_MASK) << 3);
+            case BOOLEAN -> getBoolean(i) ? 1.0 : 0.0;
+            default -> Double.parseDouble(getString(i));
+        };
+    }
+
+    @Override
+    protected Object getValue(int i) {
+        return switch (type) {
+            case INT -> getInt(i);
+            case LONG -> getLong(i);
+            case DOUBLE -> getDouble(i);
+            case BOOLEAN -> getBoolean(i);
+            default -> getString(i);
+        };
+    }
+
+    @Override
+    public int nullCount() {
+        if (type == ColumnType.STRING) return super.nullCount();
+        if (nulls == null) return 0;
+        int count = 0;
+        int fullWords = size >>> 6;
+        for (int w = 0; w < fullWords; w++) {
+            count += Long.bitCount(nulls.getLong(w << 3));
+        }
+        int rest = size & 63;
+        if (rest != 0) {
+            count += Long.bitCount(nulls.getLong(fullWords << 3) & ((1L << rest) - 1));
+        }
+        return count;
+    }
+}
@@ -0,0 +1,165 @@
+package mlcore.dataframe.columns;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Order statistics by selection instead of sorting.
+ *
+ * Values are copied into a primitive array which is partially reordered in place by
+ * introselect: quickselect with a three-way partition around the median of three random samples,
+ * falling back to a sort of the remaining range if the recursion gets too deep, so a
+ * single statistic costs O(n). Several ranks are found in one pass by sending each rank
+ * only into the partition that contains it.
+ *
+ * Median and quartiles follow the definitions used by {@code StatsUtils}: Q1 is the
+ * median of the lower {@code n / 2} values and Q3 the median of the upper {@code n / 2}.
+ */
+public final class Quantiles {
+
+    private static final int INSERTION_SORT_SIZE = 16;
+
+    private Quantiles() {
+    }
+
+    // non-missing numeric values of a column; NaN values are skipped as well
+    public static double[] values(Column column) {
+        int n = column.size();
+        double[] values = new double[n];
+        int k = 0;
+        if (column.type().isNumeric()) {
+            for (int i = 0; i < n; i++) {
+                if (column.isNull(i)) continue;
+                double x = column.getDouble(i);
+                if (!Double.isNaN(x)) values[k++] = x;
+            }
+        } else {
+            // mixed columns keep boxed values, only the numbers among them count
+            for (int i = 0; i < n; i++) {
+                Object val = column.get(i);
+                if (val instanceof Number) {
+                    double x = ((Number) val).doubleValue();
+                    if (!Double.isNaN(x)) values[k++] = x;
+                }
+            }
+        }
+        return k == n ? values : Arrays.copyOf(values, k);
+    }
+
+    // reorders values so that values[rank] is the value a full sort would put there
+    public static double select(double[] values, int rank) {
+        return select(values, new int[] {rank})[0];
+    }
+
+    // values at several ranks (in any order) from one partitioning pass
+    public static double[] select(double[] values, int[] ranks) {
+        int[] sorted = ranks.clone();
+        Arrays.sort(sorted);
+        for (int rank : sorted) {
+            if (rank < 0 || rank >= values.length) {
+                throw new IllegalArgumentException("Rank " + rank + " out of range for " + values.length + " values");
+            }
+        }
+        int depth = 2 * (32 - Integer.numberOfLeadingZeros(Math.max(1, values.length)));
+        select(values, 0, values.length, sorted, 0, sorted.length, depth);
+        double[] result = new double[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            result[i] = values[ranks[i]];
+        }
+        return result;
+    }
+
+    public static double median(double[] values) {
+        int n = values.length;
+        if (n == 0) return Double.NaN;
+        double[] mid = select(values, middleRanks(0, n));
+        return (mid[0] + mid[1]) / 2.0;
+    }
+
+    // {Q1, median, Q3}, all three from a single selection pass
+    public static double[] quartiles(double[] values) {
+        int n = values.length;
+        if (n == 0) return new double[] {Double.NaN, Double.NaN, Double.NaN};
+        if (n == 1) return new double[] {values[0], values[0], values[0]};
+        int[] lower = middleRanks(0, n / 2);
+        int[] median = middleRanks(0, n);
+        int[] upper = middleRanks(n - n / 2, n);
+        double[] v = select(values, new int[] {lower[0], lower[1], median[0], median[1], upper[0], upper[1]});
+        return new double[] {(v[0] + v[1]) / 2.0, (v[2] + v[3]) / 2.0, (v[4] + v[5]) / 2.0};
+    }
+
+    // the one or two ranks whose mean is the median of the sorted range [from, to)
+    private static int[] middleRanks(int from, int to) {
+        int size = to - from;
+        int mid = from + size / 2;
+        return size % 2 != 0 ? new int[] {mid, mid} : new int[] {mid - 1, mid};
+    }
+
+    private static void select(double[] a, int lo, int hi, int[] ranks, int rFrom, int rTo, int depth) {
+        while (rFrom < rTo) {
+            if (hi - lo <= INSERTION_SORT_SIZE) {
+                insertionSort(a, lo, hi);
+                return;
+            }
+            if (depth-- == 0) {
+                Arrays.sort(a, lo, hi);
+                return;
+            }
+
+            // random samples keep sorted or periodic input from degrading the partitions
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            double pivot = medianOfThree(a[random.nextInt(lo, hi)], a[random.nextInt(lo, hi)], a[random.nextInt(lo, hi)]);
+            // three-way partition: [lo, lt) < pivot, [lt, gt) == pivot, [gt, hi) > pivot
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i < gt) {
+                double x = a[i];
+                if (x < pivot) {
+                    a[i++] = a[lt];
+                    a[lt++] = x;
+                } else if (x > pivot) {
+                    a[i] = a[--gt];
+                    a[gt] = x;
+                } else {
+                    i++;
+                }
+            }
+
+            int leftEnd = rFrom;
+            while (leftEnd < rTo && ranks[leftEnd] < lt) leftEnd++;
+            int rightStart = leftEnd;
+            while (rightStart < rTo && ranks[rightStart] < gt) rightStart++;
+
+            // recurse into the side with fewer ranks, loop on the other
+            if (leftEnd - rFrom < rTo - rightStart) {
+                select(a, lo, lt, ranks, rFrom, leftEnd, depth);
+                lo = gt;
+                rFrom = rightStart;
+            } else {
+                select(a, gt, hi, ranks, rightStart, rTo, depth);
+                hi = lt;
+                rTo = leftEnd;
+            }
+        }
+    }
+
+    private static double medianOfThree(double a, double b, double c) {
+        if (a < b) {
+            return b < c ? b : Math.max(a, c);
+        }
+        return a < c ? a : Math.max(b, c);
+    }
+
+    private static void insertionSort(double[] a, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            double x = a[i];
+            int j = i - 1;
+            while (j >= lo && a[j] > x) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = x;
+        }
+    }
+}
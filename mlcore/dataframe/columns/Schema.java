@@ -0,0 +1,55 @@
+package mlcore.dataframe.columns;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ordered mapping of column names to column types.
+ *
+ * Readers accept a schema to parse every column straight into one primitive type,
+ * and {@code SchemaInference} derives one from a sample of a file.
+ *
+ * <pre>
+ * Schema schema = new Schema()
+ *         .add("age", ColumnType.INT)
+ *         .add("income", ColumnType.DOUBLE)
+ *         .add("city", ColumnType.STRING);
+ * </pre>
+ */
+public class Schema {
+
+    private final Map<String, ColumnType> types = new LinkedHashMap<>();
+
+    public Schema add(String columnName, ColumnType type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Column type must not be null");
+        }
+        types.put(columnName, type);
+        return this;
+    }
+
+    // type of the column, or null when the schema does not cover it
+    public ColumnType getType(String columnName) {
+        return types.get(columnName);
+    }
+
+    public boolean contains(String columnName) {
+        return types.containsKey(columnName);
+    }
+
+    public List<String> getColumnNames() {
+        return Collections.unmodifiableList(new ArrayList<>(types.keySet()));
+    }
+
+    public int size() {
+        return types.size();
+    }
+
+    @Override
+    public String toString() {
+        return types.toString();
+    }
+}
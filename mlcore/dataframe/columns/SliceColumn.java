@@ -0,0 +1,32 @@
+package mlcore.dataframe.columns;
+
+import java.util.Objects;
+
+// view of the contiguous rows [offset, offset + length) of another column
+public class SliceColumn extends ColumnView {
+
+    private final int offset;
+
+    private SliceColumn(Column source, int offset, int length) {
+        super(source, length);
+        this.offset = offset;
+    }
+
+    public static Column of(Column source, int from, int to) {
+        Objects.checkFromToIndex(from, to, source.size());
+        if (from == 0 && to == source.size()) {
+            return source;
+        }
+        if (source instanceof SliceColumn) {
+            // slice of a slice points straight at the underlying column
+            SliceColumn slice = (SliceColumn) source;
+            return new SliceColumn(slice.source, slice.offset + from, to - from);
+        }
+        return new SliceColumn(source, from, to - from);
+    }
+
+    @Override
+    protected int row(int i) {
+        return offset + i;
+    }
+}
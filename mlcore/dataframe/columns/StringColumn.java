@@ -0,0 +1,70 @@
+package mlcore.dataframe.columns;
+
+/**
+ * Dictionary-encoded string column. Every row stores an int code into a shared
+ * dictionary of distinct values; missing rows use the code {@code -1}.
+ */
+public class StringColumn extends Column {
+
+    public static final int NULL_CODE = -1;
+
+    private final int[] codes;
+    private final String[] dictionary;
+
+    public StringColumn(int[] codes, String[] dictionary, int size) {
+        super(size);
+        this.codes = codes;
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public ColumnType type() {
+        return ColumnType.STRING;
+    }
+
+    @Override
+    public boolean isNull(int i) {
+        return codes[i] == NULL_CODE;
+    }
+
+    @Override
+    public int getCode(int i) {
+        return codes[i];
+    }
+
+    @Override
+    public String getString(int i) {
+        int code = codes[i];
+        return code == NULL_CODE ? null : dictionary[code];
+    }
+
+    @Override
+    public int dictionarySize() {
+        return dictionary.length;
+    }
+
+    @Override
+    public String dictionaryValue(int code) {
+        return dictionary[code];
+    }
+
+    @Override
+    public void codeMask(boolean[] matches, long[] mask) {
+        for (int i = 0; i < size; i++) {
+            int code = codes[i];
+            mask[i >>> 6] |= (code >= 0 && matches[code] ? 1L : 0L) << i;
+        }
+    }
+
+    // numeric strings still convert, mirroring the old Double.valueOf(val.toString()) behaviour
+    @Override
+    public double getDouble(int i) {
+        int code = codes[i];
+        return code == NULL_CODE ? Double.NaN : Double.parseDouble(dictionary[code]);
+    }
+
+    @Override
+    protected Object getValue(int i) {
+        return dictionary[codes[i]];
+    }
+}
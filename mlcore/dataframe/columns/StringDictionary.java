@@ -0,0 +1,95 @@
+package mlcore.dataframe.columns;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table assigning dense int codes to distinct strings,
+ * in order of first appearance. Used to dictionary-encode string columns
+ * without boxing a code per lookup.
+ */
+public class StringDictionary {
+
+    private String[] keys;     // hash slots
+    private int[] slotCodes;   // code stored for each occupied slot
+    private String[] values;   // code -> string
+    private int size;
+    private int mask;
+
+    public StringDictionary() {
+        this(16);
+    }
+
+    public StringDictionary(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+        keys = new String[capacity];
+        slotCodes = new int[capacity];
+        values = new String[Math.max(4, expectedSize)];
+        mask = capacity - 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String value(int code) {
+        return values[code];
+    }
+
+    // code of the given string, or -1 when it has not been added
+    public int get(String key) {
+        int slot = mix(key.hashCode()) & mask;
+        while (keys[slot] != null) {
+            if (keys[slot].equals(key)) return slotCodes[slot];
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    public int getOrAdd(String key) {
+        int slot = mix(key.hashCode()) & mask;
+        while (keys[slot] != null) {
+            if (keys[slot].equals(key)) return slotCodes[slot];
+            slot = (slot + 1) & mask;
+        }
+        int code = size++;
+        keys[slot] = key;
+        slotCodes[slot] = code;
+        if (code == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[code] = key;
+        if (size * 2 > keys.length) {
+            rehash();
+        }
+        return code;
+    }
+
+    // distinct values indexed by code
+    public String[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    private void rehash() {
+        int capacity = keys.length * 2;
+        String[] newKeys = new String[capacity];
+        int[] newCodes = new int[capacity];
+        int newMask = capacity - 1;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null) continue;
+            int slot = mix(keys[i].hashCode()) & newMask;
+            while (newKeys[slot] != null) {
+                slot = (slot + 1) & newMask;
+            }
+            newKeys[slot] = keys[i];
+            newCodes[slot] = slotCodes[i];
+        }
+        keys = newKeys;
+        slotCodes = newCodes;
+        mask = newMask;
+    }
+
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,249 @@
+package mlcore.dataframe.filter;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.DoublePredicate;
+
+import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.columns.Column;
+import mlcore.dataframe.columns.ColumnType;
+import mlcore.dataframe.columns.CompareOp;
+
+/**
+ * Row predicate over the columns of a DataFrame, evaluated a whole column at a time.
+ *
+ * Each leaf runs one tight loop over the primitive storage of its column and produces
+ * a {@link RowMask}; {@link #and}, {@link #or} and {@link #not} combine those masks
+ * word by word. Missing values never match a comparison, but {@link #not} inverts the
+ * whole mask, so the negation of a comparison does match them.
+ *
+ * <pre>
+ * DataFrame adults = df.filter(Filter.ge("age", 18).and(Filter.in("country", "DE", "FR")));
+ * </pre>
+ */
+public abstract class Filter {
+
+    public abstract RowMask evaluate(DataFrame df);
+
+    public Filter and(Filter other) {
+        Filter self = this;
+        return new Filter() {
+            @Override
+            public RowMask evaluate(DataFrame df) {
+                return self.evaluate(df).and(other.evaluate(df));
+            }
+        };
+    }
+
+    public Filter or(Filter other) {
+        Filter self = this;
+        return new Filter() {
+            @Override
+            public RowMask evaluate(DataFrame df) {
+                return self.evaluate(df).or(other.evaluate(df));
+            }
+        };
+    }
+
+    // every row the filter rejects, rows with missing values included; and() with notNull to drop them
+    public Filter not() {
+        Filter self = this;
+        return new Filter() {
+            @Override
+            public RowMask evaluate(DataFrame df) {
+                return self.evaluate(df).not();
+            }
+        };
+    }
+
+    public static Filter lt(String column, double value) {
+        return compare(column, CompareOp.LT, value);
+    }
+
+    public static Filter le(String column, double value) {
+        return compare(column, CompareOp.LE, value);
+    }
+
+    public static Filter gt(String column, double value) {
+        return compare(column, CompareOp.GT, value);
+    }
+
+    public static Filter ge(String column, double value) {
+        return compare(column, CompareOp.GE, value);
+    }
+
+    public static Filter eq(String column, double value) {
+        return compare(column, CompareOp.EQ, value);
+    }
+
+    public static Filter ne(String column, double value) {
+        return compare(column, CompareOp.NE, value);
+    }
+
+    // low <= value <= high
+    public static Filter between(String column, double low, double high) {
+        return ge(column, low).and(le(column, high));
+    }
+
+    public static Filter compare(String column, CompareOp op, double value) {
+        return new Filter() {
+            @Override
+            public RowMask evaluate(DataFrame df) {
+                Column col = numeric(df, column);
+                long[] mask = words(col);
+                col.compareMask(op, value, mask);
+                return new RowMask(mask, col.size());
+            }
+        };
+    }
+
+    public static Filter eq(String column, Object value) {
+        return in(column, Arrays.asList(value));
+    }
+
+    public static Filter in(String column, Object... values) {
+        return in(column, Arrays.asList(values));
+    }
+
+    /**
+     * STRING columns match on dictionary codes, so each distinct value is compared only once.
+     * Numeric operands are compared by value in the column's type: {@code in("id", 5)} matches
+     * a LONG column and {@code in("x", 1)} a DOUBLE one. Other columns match with equals.
+     */
+    public static Filter in(String column, Collection<?> values) {
+        Set<Object> wanted = new HashSet<>(values);
+        return new Filter() {
+            @Override
+            public RowMask evaluate(DataFrame df) {
+                Column col = df.column(column);
+                long[] mask = words(col);
+                switch (col.type()) {
+                    case STRING -> {
+                        boolean[] matches = new boolean[col.dictionarySize()];
+                        for (int code = 0; code < matches.length; code++) {
+                            matches[code] = wanted.contains(col.dictionaryValue(code));
+                        }
+                        col.codeMask(matches, mask);
+                    }
+                    case INT, LONG -> {
+                        long[] sorted = integralOperands(wanted);
+                        boolean ints = col.type() == ColumnType.INT;
+                        for (int i = 0; i < col.size(); i++) {
+                            if (col.isNull(i)) continue;
+                            long x = ints ? col.getInt(i) : col.getLong(i);
+                            if (Arrays.binarySearch(sorted, x) >= 0) mask[i >>> 6] |= 1L << i;
+                        }
+                    }
+                    case DOUBLE -> {
+                        double[] sorted = doubleOperands(wanted);
+                        for (int i = 0; i < col.size(); i++) {
+                            if (col.isNull(i)) continue;
+                            if (Arrays.binarySearch(sorted, col.getDouble(i) + 0.0) >= 0) mask[i >>> 6] |= 1L << i;
+                        }
+                    }
+                    default -> {
+                        for (int i = 0; i < col.size(); i++) {
+                            if (!col.isNull(i) && wanted.contains(col.get(i))) mask[i >>> 6] |= 1L << i;
+                        }
+                    }
+                }
+                return new RowMask(mask, col.size());
+            }
+        };
+    }
+
+    // the numeric operands with a whole value, sorted; fractional ones can never match an integer column
+    private static long[] integralOperands(Set<Object> operands) {
+        long[] values = new long[operands.size()];
+        int k = 0;
+        for (Object val : operands) {
+            if (val instanceof Long || val instanceof Integer || val instanceof Short || val instanceof Byte) {
+                values[k++] = ((Number) val).longValue();
+            } else if (val instanceof Number) {
+                double x = ((Number) val).doubleValue();
+                if (x == Math.rint(x) && Math.abs(x) < 0x1p63) values[k++] = (long) x;
+            }
+        }
+        values = Arrays.copyOf(values, k);
+        Arrays.sort(values);
+        return values;
+    }
+
+    // the numeric operands as doubles, sorted; + 0.0 folds -0.0 into 0.0 so both compare equal
+    private static double[] doubleOperands(Set<Object> operands) {
+        double[] values = new double[operands.size()];
+        int k = 0;
+        for (Object val : operands) {
+            if (val instanceof Number) values[k++] = ((Number) val).doubleValue() + 0.0;
+        }
+        values = Arrays.copyOf(values, k);
+        Arrays.sort(values);
+        return values;
+    }
+
+    public static Filter isNull(String column) {
+        return new Filter() {
+            @Override
+            public RowMask evaluate(DataFrame df) {
+                Column col = df.column(column);
+                long[] mask = words(col);
+                col.nullMask(mask);
+                return new RowMask(mask, col.size());
+            }
+        };
+    }
+
+    public static Filter notNull(String column) {
+        return isNull(column).not();
+    }
+
+    // rows of a BOOLEAN column that are true
+    public static Filter isTrue(String column) {
+        return new Filter() {
+            @Override
+            public RowMask evaluate(DataFrame df) {
+                Column col = df.column(column);
+                if (col.type() != ColumnType.BOOLEAN) {
+                    throw new IllegalArgumentException("Column " + column + " is not BOOLEAN");
+                }
+                long[] mask = words(col);
+                for (int i = 0; i < col.size(); i++) {
+                    if (!col.isNull(i) && col.getBoolean(i)) mask[i >>> 6] |= 1L << i;
+                }
+                return new RowMask(mask, col.size());
+            }
+        };
+    }
+
+    // arbitrary test on the numeric value of every non-missing row
+    public static Filter where(String column, DoublePredicate predicate) {
+        Objects.requireNonNull(predicate);
+        return new Filter() {
+            @Override
+            public RowMask evaluate(DataFrame df) {
+                Column col = numeric(df, column);
+                long[] mask = words(col);
+                for (int i = 0; i < col.size(); i++) {
+                    if (!col.isNull(i) && predicate.test(col.getDouble(i))) mask[i >>> 6] |= 1L << i;
+                }
+                return new RowMask(mask, col.size());
+            }
+        };
+    }
+
+    // numeric comparisons read getDouble, which STRING and OBJECT columns can only provide by parsing
+    private static Column numeric(DataFrame df, String column) {
+        Column col = df.column(column);
+        if (!col.type().isNumeric() && col.type() != ColumnType.BOOLEAN) {
+            throw new IllegalArgumentException("Column " + column + " is " + col.type() + ", numeric comparisons need a numeric column");
+        }
+        return col;
+    }
+
+    private static long[] words(Column column) {
+        return new long[(column.size() + 63) >>> 6];
+    }
+}
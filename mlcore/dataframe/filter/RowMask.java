@@ -0,0 +1,114 @@
+package mlcore.dataframe.filter;
+
+import java.util.Objects;
+
+/**
+ * Bit set over the rows of a DataFrame, one bit per row.
+ *
+ * Masks produced by {@link Filter}s are combined word by word with {@link #and},
+ * {@link #or} and {@link #not}; rows are only turned into a selection vector of
+ * indices ({@link #toIndices()}) once the final mask is known.
+ */
+public final class RowMask {
+
+    private final long[] words;
+    private final int size;
+
+    // bit i of words marks row i; bits past size must be clear
+    public RowMask(long[] words, int size) {
+        if (words.length < (size + 63) >>> 6) {
+            throw new IllegalArgumentException("Mask of " + words.length + " words cannot cover " + size + " rows");
+        }
+        this.words = words;
+        this.size = size;
+    }
+
+    public static RowMask none(int size) {
+        return new RowMask(new long[(size + 63) >>> 6], size);
+    }
+
+    public static RowMask all(int size) {
+        return none(size).not();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean get(int row) {
+        Objects.checkIndex(row, size);
+        return (words[row >>> 6] & (1L << row)) != 0;
+    }
+
+    // backing words, shared with the caller
+    public long[] words() {
+        return words;
+    }
+
+    public RowMask and(RowMask other) {
+        checkSize(other);
+        long[] result = new long[wordCount()];
+        for (int w = 0; w < result.length; w++) {
+            result[w] = words[w] & other.words[w];
+        }
+        return new RowMask(result, size);
+    }
+
+    public RowMask or(RowMask other) {
+        checkSize(other);
+        long[] result = new long[wordCount()];
+        for (int w = 0; w < result.length; w++) {
+            result[w] = words[w] | other.words[w];
+        }
+        return new RowMask(result, size);
+    }
+
+    public RowMask not() {
+        long[] result = new long[wordCount()];
+        for (int w = 0; w < result.length; w++) {
+            result[w] = ~words[w];
+        }
+        clearTail(result, size);
+        return new RowMask(result, size);
+    }
+
+    // number of selected rows
+    public int count() {
+        int count = 0;
+        for (int w = 0; w < wordCount(); w++) {
+            count += Long.bitCount(words[w]);
+        }
+        return count;
+    }
+
+    // selection vector: the indices of the selected rows in ascending order
+    public int[] toIndices() {
+        int[] indices = new int[count()];
+        int k = 0;
+        for (int w = 0; w < wordCount(); w++) {
+            long word = words[w];
+            while (word != 0) {
+                indices[k++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return indices;
+    }
+
+    private int wordCount() {
+        return (size + 63) >>> 6;
+    }
+
+    private void checkSize(RowMask other) {
+        if (other.size != size) {
+            throw new IllegalArgumentException("Masks cover " + size + " and " + other.size + " rows");
+        }
+    }
+
+    static void clearTail(long[] words, int size) {
+        int rest = size & 63;
+        if (rest != 0) {
+            words[size >>> 6] &= (1L << rest) - 1;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package mlcore.dataframe.group;
+
+/**
+ * One aggregate computed per group by {@link GroupBy#agg}.
+ *
+ * The output column is named {@code column_kind} (e.g. {@code amount_mean}) unless
+ * renamed with {@link #as(String)}; {@link #count()} is named {@code count}. Missing
+ * values are skipped. Min, max, mean and variance of a group without values are missing.
+ * {@code count(column)} works on any column; the other aggregates need a numeric or
+ * boolean column.
+ */
+public final class Agg {
+
+    enum Kind {
+        COUNT, SUM, MEAN, MIN, MAX, VARIANCE
+    }
+
+    final Kind kind;
+    final String column;   // null for count()
+    final String name;
+
+    private Agg(Kind kind, String column, String name) {
+        this.kind = kind;
+        this.column = column;
+        this.name = name;
+    }
+
+    private static Agg of(Kind kind, String column) {
+        return new Agg(kind, column, column + "_" + kind.name().toLowerCase());
+    }
+
+    // number of rows in the group
+    public static Agg count() {
+        return new Agg(Kind.COUNT, null, "count");
+    }
+
+    // number of non-missing values of the column in the group
+    public static Agg count(String column) {
+        return of(Kind.COUNT, column);
+    }
+
+    public static Agg sum(String column) {
+        return of(Kind.SUM, column);
+    }
+
+    public static Agg mean(String column) {
+        return of(Kind.MEAN, column);
+    }
+
+    public static Agg min(String column) {
+        return of(Kind.MIN, column);
+    }
+
+    public static Agg max(String column) {
+        return of(Kind.MAX, column);
+    }
+
+    // sample variance (divides by n - 1)
+    public static Agg variance(String column) {
+        return of(Kind.VARIANCE, column);
+    }
+
+    public Agg as(String outputName) {
+        return new Agg(kind, column, outputName);
+    }
+}
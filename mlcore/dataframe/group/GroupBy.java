@@ -0,0 +1,276 @@
+package mlcore.dataframe.group;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.columns.Column;
+import mlcore.dataframe.columns.ColumnType;
+import mlcore.dataframe.columns.DoubleColumn;
+import mlcore.dataframe.columns.IndexedColumn;
+import mlcore.dataframe.columns.LongColumn;
+import mlcore.dataframe.columns.NullMask;
+import mlcore.dataframe.hash.KeyTable;
+import mlcore.dataframe.hash.RowKeys;
+
+/**
+ * Groups the rows of a DataFrame by one or more key columns and aggregates each group.
+ *
+ * Keys are encoded as primitive tuples ({@link RowKeys}) and looked up in an
+ * open-addressing {@link KeyTable}. Large frames are split into row ranges that are
+ * aggregated on separate threads into partial tables; the partials are then merged in
+ * order (variance with Chan's parallel update), so groups appear in the order of their
+ * first row. Key columns of the result are views of those first rows.
+ *
+ * <pre>
+ * DataFrame perCustomer = df.groupBy("customer")
+ *         .agg(Agg.count(), Agg.sum("amount"), Agg.mean("amount"), Agg.max("amount").as("largest"));
+ * </pre>
+ */
+public class GroupBy {
+
+    private static final int PARALLEL_ROWS = 1 << 16;
+
+    private final DataFrame df;
+    private final List<String> keys;
+
+    public GroupBy(DataFrame df, List<String> keys) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("At least one key column is required");
+        }
+        for (String key : keys) {
+            if (!df.getData().containsKey(key)) {
+                throw new IllegalArgumentException("Column " + key + " not found");
+            }
+        }
+        this.df = df;
+        this.keys = new ArrayList<>(keys);
+    }
+
+    public DataFrame count() {
+        return agg(Agg.count());
+    }
+
+    public DataFrame agg(Agg... aggs) {
+        return agg(Arrays.asList(aggs));
+    }
+
+    public DataFrame agg(List<Agg> aggs) {
+        List<Column> keyColumns = new ArrayList<>();
+        for (String key : keys) {
+            keyColumns.add(df.column(key));
+        }
+        RowKeys rowKeys = new RowKeys(keyColumns);
+
+        // every value column is accumulated once, however many aggregates read it
+        Set<String> valueNames = new LinkedHashSet<>();
+        for (Agg agg : aggs) {
+            if (agg.column != null) valueNames.add(agg.column);
+        }
+        Column[] values = new Column[valueNames.size()];
+        Map<String, Integer> valueIndex = new LinkedHashMap<>();
+        for (String name : valueNames) {
+            valueIndex.put(name, valueIndex.size());
+            values[valueIndex.get(name)] = df.column(name);
+        }
+        // columns only read by count(column) are counted with isNull, never converted to double
+        boolean[] numeric = new boolean[values.length];
+        for (Agg agg : aggs) {
+            if (agg.column == null || agg.kind == Agg.Kind.COUNT) continue;
+            Column column = values[valueIndex.get(agg.column)];
+            if (!column.type().isNumeric() && column.type() != ColumnType.BOOLEAN) {
+                throw new IllegalArgumentException("Cannot compute " + agg.kind.name().toLowerCase() + " of "
+                        + column.type() + " column " + agg.column);
+            }
+            numeric[valueIndex.get(agg.column)] = true;
+        }
+
+        int n = df.getCountRows();
+        int parts = n < PARALLEL_ROWS ? 1 : Math.min(ForkJoinPool.getCommonPoolParallelism() * 2, n / (PARALLEL_ROWS / 4));
+        Partial[] partials = new Partial[Math.max(1, parts)];
+        IntStream tasks = IntStream.range(0, partials.length);
+        (partials.length > 1 ? tasks.parallel() : tasks).forEach(p -> {
+            long from = (long) n * p / partials.length;
+            long to = (long) n * (p + 1) / partials.length;
+            partials[p] = aggregate(rowKeys, values, numeric, (int) from, (int) to);
+        });
+
+        Partial total = partials[0];
+        for (int p = 1; p < partials.length; p++) {
+            total.merge(partials[p]);
+        }
+        return result(total, aggs, valueIndex);
+    }
+
+    private static Partial aggregate(RowKeys rowKeys, Column[] values, boolean[] numeric, int from, int to) {
+        Partial partial = new Partial(rowKeys.width(), values.length, 1024);
+        long[] key = new long[rowKeys.width()];
+        for (int i = from; i < to; i++) {
+            int nulls = rowKeys.encode(i, key);
+            int group = partial.group(key, nulls, i);
+            partial.rows[group]++;
+            for (int v = 0; v < values.length; v++) {
+                if (values[v].isNull(i)) continue;
+                if (numeric[v]) {
+                    partial.stats[v].add(group, values[v].getDouble(i));
+                } else {
+                    partial.stats[v].count[group]++;
+                }
+            }
+        }
+        return partial;
+    }
+
+    private DataFrame result(Partial total, List<Agg> aggs, Map<String, Integer> valueIndex) {
+        int groups = total.table.size();
+        int[] firstRows = Arrays.copyOf(total.firstRow, groups);
+
+        Map<String, List<Object>> out = new LinkedHashMap<>();
+        for (String key : keys) {
+            out.put(key, IndexedColumn.of(df.column(key), firstRows));
+        }
+        for (Agg agg : aggs) {
+            if (out.containsKey(agg.name)) {
+                throw new IllegalArgumentException("Duplicate output column " + agg.name + ", rename it with as()");
+            }
+            if (agg.column == null) {
+                out.put(agg.name, new LongColumn(Arrays.copyOf(total.rows, groups)));
+                continue;
+            }
+            Stats stats = total.stats[valueIndex.get(agg.column)];
+            if (agg.kind == Agg.Kind.COUNT) {
+                out.put(agg.name, new LongColumn(Arrays.copyOf(stats.count, groups)));
+                continue;
+            }
+            double[] result = new double[groups];
+            long[] nulls = null;
+            for (int g = 0; g < groups; g++) {
+                long count = stats.count[g];
+                double value = switch (agg.kind) {
+                    case SUM -> stats.sum[g];
+                    case MEAN -> count == 0 ? Double.NaN : stats.mean[g];
+                    case MIN -> count == 0 ? Double.NaN : stats.min[g];
+                    case MAX -> count == 0 ? Double.NaN : stats.max[g];
+                    default -> count < 2 ? Double.NaN : stats.m2[g] / (count - 1);
+                };
+                if (Double.isNaN(value)) {
+                    if (nulls == null) nulls = NullMask.create(groups);
+                    NullMask.set(nulls, g);
+                }
+                result[g] = value;
+            }
+            out.put(agg.name, new DoubleColumn(result, nulls, groups));
+        }
+        return new DataFrame(out);
+    }
+
+    // groups and accumulators of one range of rows
+    private static final class Partial {
+        final KeyTable table;
+        final Stats[] stats;
+        long[] rows;
+        int[] firstRow;
+
+        Partial(int width, int valueColumns, int expectedGroups) {
+            this.table = new KeyTable(width, expectedGroups);
+            this.stats = new Stats[valueColumns];
+            for (int v = 0; v < valueColumns; v++) {
+                stats[v] = new Stats(expectedGroups);
+            }
+            this.rows = new long[expectedGroups];
+            this.firstRow = new int[expectedGroups];
+        }
+
+        int group(long[] key, int nulls, int row) {
+            int before = table.size();
+            int group = table.getOrAdd(key, nulls);
+            if (group == before) {
+                if (group == rows.length) {
+                    int grown = rows.length * 2;
+                    rows = Arrays.copyOf(rows, grown);
+                    firstRow = Arrays.copyOf(firstRow, grown);
+                    for (Stats s : stats) s.grow(grown);
+                }
+                firstRow[group] = row;
+            }
+            return group;
+        }
+
+        // folds a partial of later rows into this one
+        void merge(Partial other) {
+            long[] key = new long[table.width()];
+            for (int g = 0; g < other.table.size(); g++) {
+                int nulls = other.table.key(g, key);
+                int target = group(key, nulls, other.firstRow[g]);
+                rows[target] += other.rows[g];
+                for (int v = 0; v < stats.length; v++) {
+                    stats[v].merge(target, other.stats[v], g);
+                }
+            }
+        }
+    }
+
+    // per-group count, sum, min, max and Welford mean / M2 of one value column
+    private static final class Stats {
+        long[] count;
+        double[] sum;
+        double[] mean;
+        double[] m2;
+        double[] min;
+        double[] max;
+
+        Stats(int capacity) {
+            count = new long[capacity];
+            sum = new double[capacity];
+            mean = new double[capacity];
+            m2 = new double[capacity];
+            min = new double[capacity];
+            max = new double[capacity];
+            Arrays.fill(min, Double.POSITIVE_INFINITY);
+            Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        }
+
+        void grow(int capacity) {
+            int old = count.length;
+            count = Arrays.copyOf(count, capacity);
+            sum = Arrays.copyOf(sum, capacity);
+            mean = Arrays.copyOf(mean, capacity);
+            m2 = Arrays.copyOf(m2, capacity);
+            min = Arrays.copyOf(min, capacity);
+            max = Arrays.copyOf(max, capacity);
+            Arrays.fill(min, old, capacity, Double.POSITIVE_INFINITY);
+            Arrays.fill(max, old, capacity, Double.NEGATIVE_INFINITY);
+        }
+
+        void add(int g, double x) {
+            long n = ++count[g];
+            sum[g] += x;
+            double delta = x - mean[g];
+            mean[g] += delta / n;
+            m2[g] += delta * (x - mean[g]);
+            if (x < min[g]) min[g] = x;
+            if (x > max[g]) max[g] = x;
+        }
+
+        void merge(int g, Stats other, int h) {
+            long nb = other.count[h];
+            if (nb == 0) return;
+            long na = count[g];
+            long n = na + nb;
+            double delta = other.mean[h] - mean[g];
+            mean[g] += delta * nb / n;
+            m2[g] += other.m2[h] + delta * delta * ((double) na * nb / n);
+            count[g] = n;
+            sum[g] += other.sum[h];
+            min[g] = Math.min(min[g], other.min[h]);
+            max[g] = Math.max(max[g], other.max[h]);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package mlcore.dataframe.hash;
+
+import java.util.Arrays;
+
+import mlcore.dataframe.utils.MurmurHash3;
+
+/**
+ * Open-addressing hash table from fixed-width tuple keys to dense ids 0, 1, 2, ...
+ *
+ * A key is {@code width} longs plus an int of null flags (bit c set when key column c is
+ * missing), as produced by {@link RowKeys}. Keys are stored flat in a long[] indexed by
+ * id, and the slot array holds {@code id + 1} with linear probing, so lookups never
+ * allocate or box. Ids are handed out in insertion order.
+ */
+public final class KeyTable {
+
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+
+    private final int width;
+    private long[] keys;
+    private int[] nullFlags;
+    private int[] slots;
+    private int mask;
+    private int size;
+
+    public KeyTable(int width, int expectedSize) {
+        this.width = width;
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+        int initial = Math.max(16, expectedSize);
+        this.keys = new long[initial * width];
+        this.nullFlags = new int[initial];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    // id of the key, or -1 when it is not in the table
+    public int get(long[] key, int nulls) {
+        int slot = hash(key, nulls) & mask;
+        while (true) {
+            int entry = slots[slot];
+            if (entry == 0) return -1;
+            if (matches(entry - 1, key, nulls)) return entry - 1;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    // id of the key, adding it with the next free id when absent
+    public int getOrAdd(long[] key, int nulls) {
+        int slot = hash(key, nulls) & mask;
+        while (true) {
+            int entry = slots[slot];
+            if (entry == 0) break;
+            if (matches(entry - 1, key, nulls)) return entry - 1;
+            slot = (slot + 1) & mask;
+        }
+        int id = size++;
+        if (id == nullFlags.length) {
+            int grown = nullFlags.length + (nullFlags.length >> 1) + 1;
+            keys = Arrays.copyOf(keys, grown * width);
+            nullFlags = Arrays.copyOf(nullFlags, grown);
+        }
+        System.arraycopy(key, 0, keys, id * width, width);
+        nullFlags[id] = nulls;
+        slots[slot] = id + 1;
+        if (size * 2 > slots.length) rehash();
+        return id;
+    }
+
+    // copies the key of an id into dst and returns its null flags
+    public int key(int id, long[] dst) {
+        System.arraycopy(keys, id * width, dst, 0, width);
+        return nullFlags[id];
+    }
+
+    private boolean matches(int id, long[] key, int nulls) {
+        if (nullFlags[id] != nulls) return false;
+        int base = id * width;
+        for (int c = 0; c < width; c++) {
+            if (keys[base + c] != key[c]) return false;
+        }
+        return true;
+    }
+
+    private void rehash() {
+        int[] grown = new int[slots.length * 2];
+        int newMask = grown.length - 1;
+        long[] key = new long[width];
+        for (int id = 0; id < size; id++) {
+            System.arraycopy(keys, id * width, key, 0, width);
+            int slot = hash(key, nullFlags[id]) & newMask;
+            while (grown[slot] != 0) slot = (slot + 1) & newMask;
+            grown[slot] = id + 1;
+        }
+        slots = grown;
+        mask = newMask;
+    }
+
+    private int hash(long[] key, int nulls) {
+        long h = nulls;
+        for (int c = 0; c < width; c++) {
+            h = (h + key[c]) * MIX;
+        }
+        // MurmurHash3 finaliser spreads the bits before masking
+        return (int) MurmurHash3.fmix64(h);
+    }
+}
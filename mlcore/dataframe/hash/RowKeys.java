@@ -0,0 +1,134 @@
+package mlcore.dataframe.hash;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import mlcore.dataframe.columns.Column;
+import mlcore.dataframe.columns.ColumnType;
+
+/**
+ * Encodes the key columns of a row as a tuple of longs for {@link KeyTable}.
+ *
+ * INT and LONG keys use their value, BOOLEAN 0 or 1, DOUBLE its bit pattern (with -0.0
+ * and NaN normalised), STRING its dictionary code and OBJECT an id assigned per distinct
+ * value. Missing values set the column's bit in the returned null flags, so a missing
+ * key forms its own group.
+ */
+public final class RowKeys {
+
+    private final Column[] columns;
+    private final ColumnType[] types;
+    private final List<Map<Object, Long>> objectIds;  // null except for OBJECT key columns
+    private final int[][] codeMaps;                // optional STRING code translation, -1 = no match
+
+    public RowKeys(List<Column> columns) {
+        this(columns, null);
+    }
+
+    private RowKeys(List<Column> columns, RowKeys reference) {
+        if (columns.isEmpty() || columns.size() > 31) {
+            throw new IllegalArgumentException("Between 1 and 31 key columns are supported, got " + columns.size());
+        }
+        this.columns = columns.toArray(new Column[0]);
+        this.types = new ColumnType[this.columns.length];
+        this.objectIds = new ArrayList<>(this.columns.length);
+        this.codeMaps = new int[this.columns.length][];
+        for (int c = 0; c < this.columns.length; c++) {
+            types[c] = this.columns[c].type();
+            Map<Object, Long> ids = null;
+            if (types[c] == ColumnType.OBJECT) {
+                // ids are assigned up front so that encoding is read-only and thread-safe
+                ids = reference != null ? reference.objectIds.get(c) : new HashMap<>();
+                Column column = this.columns[c];
+                for (int i = 0; i < column.size(); i++) {
+                    if (!column.isNull(i) && reference == null) {
+                        ids.putIfAbsent(column.get(i), (long) ids.size());
+                    }
+                }
+            }
+            objectIds.add(ids);
+        }
+    }
+
+    /**
+     * Keys of other columns expressed in this encoding, e.g. for the probe side of a join:
+     * STRING codes are translated into this side's dictionary and OBJECT values look up
+     * this side's ids. Values absent from this side encode as unmatchable.
+     */
+    public RowKeys translate(List<Column> other) {
+        if (other.size() != columns.length) {
+            throw new IllegalArgumentException("Expected " + columns.length + " key columns, got " + other.size());
+        }
+        RowKeys keys = new RowKeys(other, this);
+        for (int c = 0; c < columns.length; c++) {
+            ColumnType mine = types[c];
+            ColumnType theirs = keys.types[c];
+            boolean integral = (mine == ColumnType.INT || mine == ColumnType.LONG)
+                    && (theirs == ColumnType.INT || theirs == ColumnType.LONG);
+            if (mine != theirs && !integral) {
+                throw new IllegalArgumentException("Key column " + c + " types differ: " + mine + " and " + theirs);
+            }
+            if (mine == ColumnType.STRING) {
+                Map<String, Integer> codes = new HashMap<>();
+                for (int code = 0; code < columns[c].dictionarySize(); code++) {
+                    codes.put(columns[c].dictionaryValue(code), code);
+                }
+                int[] map = new int[other.get(c).dictionarySize()];
+                for (int code = 0; code < map.length; code++) {
+                    map[code] = codes.getOrDefault(other.get(c).dictionaryValue(code), -1);
+                }
+                keys.codeMaps[c] = map;
+            }
+        }
+        return keys;
+    }
+
+    public int width() {
+        return columns.length;
+    }
+
+    public int size() {
+        return columns[0].size();
+    }
+
+    /**
+     * Writes the key of a row into dst and returns its null flags, or -1 when the key
+     * cannot exist on the reference side of {@link #translate}.
+     */
+    public int encode(int row, long[] dst) {
+        int nulls = 0;
+        for (int c = 0; c < columns.length; c++) {
+            Column column = columns[c];
+            if (column.isNull(row)) {
+                nulls |= 1 << c;
+                dst[c] = 0;
+                continue;
+            }
+            switch (types[c]) {
+                case INT -> dst[c] = column.getInt(row);
+                case LONG -> dst[c] = column.getLong(row);
+                case BOOLEAN -> dst[c] = column.getBoolean(row) ? 1 : 0;
+                case DOUBLE -> {
+                    double v = column.getDouble(row);
+                    dst[c] = v == 0.0 ? 0L : Double.doubleToLongBits(v);
+                }
+                case STRING -> {
+                    int code = column.getCode(row);
+                    if (codeMaps[c] != null) {
+                        code = codeMaps[c][code];
+                        if (code < 0) return -1;
+                    }
+                    dst[c] = code;
+                }
+                default -> {
+                    Long id = objectIds.get(c).get(column.get(row));
+                    if (id == null) return -1;
+                    dst[c] = id;
+                }
+            }
+        }
+        return nulls;
+    }
+}
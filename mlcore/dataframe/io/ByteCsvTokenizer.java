@@ -0,0 +1,189 @@
+package mlcore.dataframe.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Byte-level counterpart of {@link CsvTokenizer} working on a region of a
+ * (memory-mapped) buffer. Used by {@link ParallelCsvReader}, where every worker
+ * tokenizes its own byte range. Text is assumed to be UTF-8.
+ */
+class ByteCsvTokenizer implements CsvRecord {
+
+    private static final int EOF = -1;
+
+    private final ByteBuffer buffer;
+    private final byte delimiter;
+    private int pos;
+    private final int end;
+
+    private byte[] record = new byte[256];
+    private int recordLength;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int fieldCount;
+
+    private boolean counting;
+    private boolean brokenQuote;
+    private boolean quoted;
+    private boolean keepBlankLines;
+
+    ByteCsvTokenizer(ByteBuffer buffer, int start, int end, byte delimiter) {
+        this.buffer = buffer;
+        this.pos = start;
+        this.end = end;
+        this.delimiter = delimiter;
+    }
+
+    boolean next() {
+        while (pos < end) {
+            readRecord();
+            if (fieldCount > 1 || ends[0] > starts[0] || quoted || keepBlankLines) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Counts the remaining records with the same state machine as {@link #next()}, without
+     * copying field bytes. Fails if a quoted field spans a line break or is left open at the
+     * end of the region, since such a record cannot be split on raw line breaks.
+     */
+    int countRecords() {
+        counting = true;
+        try {
+            int count = 0;
+            while (next()) {
+                if (brokenQuote) {
+                    throw new IllegalArgumentException("Quoted field contains a line break or is not closed;"
+                            + " use DataFrame.readCSV for this file");
+                }
+                count++;
+            }
+            return count;
+        } finally {
+            counting = false;
+        }
+    }
+
+    // returns blank lines as records with one empty field, as CsvTokenizer does for one-column files
+    ByteCsvTokenizer keepBlankLines(boolean keep) {
+        this.keepBlankLines = keep;
+        return this;
+    }
+
+    int position() {
+        return pos;
+    }
+
+    @Override
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    byte[] bytes() {
+        return record;
+    }
+
+    int start(int field) {
+        return starts[field];
+    }
+
+    @Override
+    public int length(int field) {
+        return ends[field] - starts[field];
+    }
+
+    @Override
+    public String getString(int field) {
+        return new String(record, starts[field], ends[field] - starts[field], StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int parseNumber(int field, NumberParser numbers) {
+        return numbers.parse(record, starts[field], ends[field] - starts[field]);
+    }
+
+    private void readRecord() {
+        recordLength = 0;
+        fieldCount = 0;
+        brokenQuote = false;
+        quoted = false;
+        while (true) {
+            int terminator = readField();
+            if (terminator != delimiter) return;
+        }
+    }
+
+    private int readField() {
+        int c = read();
+        while (isBlank(c)) c = read();
+
+        int start = recordLength;
+        int fieldEnd;
+        if (c == '"') {
+            quoted = true;
+            while (true) {
+                c = read();
+                if (c == EOF) {
+                    brokenQuote = true;
+                    break;
+                }
+                if (c == '\n' || c == '\r') brokenQuote = true;
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        append((byte) '"');
+                        continue;
+                    }
+                    break;
+                }
+                append((byte) c);
+            }
+            fieldEnd = recordLength;
+            c = read();
+            while (c != EOF && c != delimiter && c != '\n' && c != '\r') c = read();
+        } else {
+            int lastNonBlank = recordLength;
+            while (c != EOF && c != delimiter && c != '\n' && c != '\r') {
+                append((byte) c);
+                if (!isBlank(c)) lastNonBlank = recordLength;
+                c = read();
+            }
+            fieldEnd = lastNonBlank;
+        }
+        if (c == '\r' && peek() == '\n') read();
+
+        if (fieldCount == starts.length) {
+            starts = Arrays.copyOf(starts, fieldCount * 2);
+            ends = Arrays.copyOf(ends, fieldCount * 2);
+        }
+        starts[fieldCount] = start;
+        ends[fieldCount] = fieldEnd;
+        fieldCount++;
+        return c;
+    }
+
+    private boolean isBlank(int c) {
+        return (c == ' ' || c == '\t') && c != delimiter;
+    }
+
+    private void append(byte b) {
+        if (counting) {
+            recordLength++;
+            return;
+        }
+        if (recordLength == record.length) {
+            record = Arrays.copyOf(record, record.length * 2);
+        }
+        record[recordLength++] = b;
+    }
+
+    private int read() {
+        return pos < end ? buffer.get(pos++) & 0xFF : EOF;
+    }
+
+    private int peek() {
+        return pos < end ? buffer.get(pos) & 0xFF : EOF;
+    }
+}
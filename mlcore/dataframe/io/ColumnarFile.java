@@ -0,0 +1,435 @@
+package mlcore.dataframe.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.columns.BooleanColumn;
+import mlcore.dataframe.columns.Column;
+import mlcore.dataframe.columns.ColumnStats;
+import mlcore.dataframe.columns.ColumnType;
+import mlcore.dataframe.columns.DoubleColumn;
+import mlcore.dataframe.columns.IntColumn;
+import mlcore.dataframe.columns.LongColumn;
+import mlcore.dataframe.columns.OffHeapColumn;
+import mlcore.dataframe.columns.StringColumn;
+
+/**
+ * Binary columnar file format for DataFrames.
+ *
+ * <pre>
+ * "ML4JCOL1"                             magic
+ * column blocks, each 8-byte aligned:
+ *   values                               int32 / int64 / float64 per row, one bit per row
+ *                                        for BOOLEAN, int32 dictionary codes for STRING
+ *   null bitmap                          int64 words, only when the column has nulls
+ *   dictionary (STRING)                  int32 count, int32 byte length per entry, UTF-8 bytes
+ * footer:
+ *   int32 version, int32 rows, int32 columns
+ *   per column: name, type name, int64 offsets of the three blocks (-1 when absent),
+ *               stats (int64 count, int64 nulls, float64 min, max, sum, mean, m2)
+ * int64 footer length, "ML4JCOL1"
+ * </pre>
+ *
+ * All values are little-endian. {@link #read} memory-maps each block and bulk-copies it
+ * into the column arrays, so nothing is parsed. {@link #map} skips the copy and returns
+ * {@link OffHeapColumn}s reading straight from the mapped file, so the data never
+ * enters the heap. OBJECT columns (mixed values) cannot be stored.
+ */
+public final class ColumnarFile {
+
+    private static final byte[] MAGIC = "ML4JCOL1".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final long MAX_MAP = 1L << 30; // map large blocks in pieces below the 2GB limit
+
+    private ColumnarFile() {
+    }
+
+    public static void write(DataFrame df, String filePath) throws IOException {
+        Map<String, List<Object>> data = df.getData();
+        int rows = df.getCountRows();
+        String[] names = data.keySet().toArray(new String[0]);
+        Column[] columns = new Column[names.length];
+        for (int c = 0; c < names.length; c++) {
+            columns[c] = df.column(names[c]);
+            if (columns[c].type() == ColumnType.OBJECT) {
+                throw new IllegalArgumentException("Column " + names[c] + " holds mixed values and cannot be saved in the binary format");
+            }
+            if (columns[c].size() != rows) {
+                throw new IllegalArgumentException("Column " + names[c] + " has " + columns[c].size() + " rows, expected " + rows);
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Output out = new Output(channel);
+            out.putBytes(MAGIC);
+            out.align();
+
+            long[][] offsets = new long[names.length][];
+            for (int c = 0; c < columns.length; c++) {
+                offsets[c] = writeColumn(out, columns[c]);
+            }
+
+            long footerStart = out.position();
+            out.putInt(VERSION);
+            out.putInt(rows);
+            out.putInt(names.length);
+            for (int c = 0; c < columns.length; c++) {
+                out.putString(names[c]);
+                out.putString(columns[c].type().name());
+                for (long offset : offsets[c]) out.putLong(offset);
+                ColumnStats stats = columns[c].stats();
+                out.putLong(stats.getCount());
+                out.putLong(stats.getNullCount());
+                out.putDouble(stats.getMin());
+                out.putDouble(stats.getMax());
+                out.putDouble(stats.getSum());
+                out.putDouble(stats.getMean());
+                out.putDouble(stats.getM2());
+            }
+            out.putLong(out.position() - footerStart);
+            out.putBytes(MAGIC);
+            out.flush();
+        }
+    }
+
+    // returns the offsets of the values, null bitmap and dictionary blocks
+    private static long[] writeColumn(Output out, Column column) throws IOException {
+        int n = column.size();
+        long values = out.position();
+        switch (column.type()) {
+            // missing rows are written as zero / false, the null bitmap marks them
+            case INT -> {
+                for (int i = 0; i < n; i++) out.putInt(column.isNull(i) ? 0 : column.getInt(i));
+            }
+            case LONG -> {
+                for (int i = 0; i < n; i++) out.putLong(column.isNull(i) ? 0L : column.getLong(i));
+            }
+            case DOUBLE -> {
+                for (int i = 0; i < n; i++) out.putDouble(column.isNull(i) ? 0.0 : column.getDouble(i));
+            }
+            case BOOLEAN -> {
+                long[] bits = new long[(n + 63) >>> 6];
+                for (int i = 0; i < n; i++) {
+                    if (!column.isNull(i) && column.getBoolean(i)) bits[i >>> 6] |= 1L << i;
+                }
+                for (long word : bits) out.putLong(word);
+            }
+            case STRING -> {
+                for (int i = 0; i < n; i++) out.putInt(column.getCode(i));
+            }
+            default -> throw new IllegalArgumentException("Unsupported column type " + column.type());
+        }
+        out.align();
+
+        long nulls = -1;
+        if (column.type() != ColumnType.STRING && column.nullCount() > 0) {
+            nulls = out.position();
+            long[] mask = new long[(n + 63) >>> 6];
+            for (int i = 0; i < n; i++) {
+                if (column.isNull(i)) mask[i >>> 6] |= 1L << i;
+            }
+            for (long word : mask) out.putLong(word);
+        }
+
+        long dictionary = -1;
+        if (column.type() == ColumnType.STRING) {
+            dictionary = out.position();
+            int count = column.dictionarySize();
+            byte[][] encoded = new byte[count][];
+            out.putInt(count);
+            for (int k = 0; k < count; k++) {
+                encoded[k] = column.dictionaryValue(k).getBytes(StandardCharsets.UTF_8);
+                out.putInt(encoded[k].length);
+            }
+            for (byte[] bytes : encoded) out.putBytes(bytes);
+            out.align();
+        }
+        return new long[] {values, nulls, dictionary};
+    }
+
+    public static DataFrame read(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            Footer footer = readFooter(channel, filePath);
+            Map<String, List<Object>> data = new LinkedHashMap<>();
+            for (int c = 0; c < footer.names.length; c++) {
+                Column column = readColumn(channel, footer, c);
+                column.cacheStats(footer.stats[c]);
+                data.put(footer.names[c], column);
+            }
+            return new DataFrame(data);
+        }
+    }
+
+    // columns backed by the mapped file itself; only string dictionaries are read onto the heap
+    public static DataFrame map(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            Footer footer = readFooter(channel, filePath);
+            int n = footer.rows;
+            Map<String, List<Object>> data = new LinkedHashMap<>();
+            for (int c = 0; c < footer.names.length; c++) {
+                ColumnType type = footer.types[c];
+                long[] offsets = footer.offsets[c];
+                ByteBuffer[] chunks;
+                if (type == ColumnType.BOOLEAN) {
+                    chunks = new ByteBuffer[] {map(channel, offsets[0], 8L * ((n + 63) >>> 6))};
+                } else {
+                    int width = OffHeapColumn.width(type);
+                    chunks = new ByteBuffer[OffHeapColumn.chunkCount(n)];
+                    for (int k = 0; k < chunks.length; k++) {
+                        long from = (long) k << OffHeapColumn.CHUNK_SHIFT;
+                        long count = Math.min(n - from, 1L << OffHeapColumn.CHUNK_SHIFT);
+                        chunks[k] = map(channel, offsets[0] + from * width, count * width);
+                    }
+                }
+                ByteBuffer nulls = offsets[1] >= 0 ? map(channel, offsets[1], 8L * ((n + 63) >>> 6)) : null;
+                String[] dictionary = type == ColumnType.STRING ? readDictionary(channel, offsets[2]) : null;
+                Column column = new OffHeapColumn(type, chunks, nulls, dictionary, n);
+                column.cacheStats(footer.stats[c]);
+                data.put(footer.names[c], column);
+            }
+            return new DataFrame(data);
+        }
+    }
+
+    // per-column statistics from the footer, without loading any column data
+    public static Map<String, ColumnStats> readStats(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            Footer footer = readFooter(channel, filePath);
+            Map<String, ColumnStats> stats = new LinkedHashMap<>();
+            for (int c = 0; c < footer.names.length; c++) {
+                stats.put(footer.names[c], footer.stats[c]);
+            }
+            return stats;
+        }
+    }
+
+    private static Column readColumn(FileChannel channel, Footer footer, int c) throws IOException {
+        int n = footer.rows;
+        long[] offsets = footer.offsets[c];
+        long[] nulls = null;
+        if (offsets[1] >= 0) {
+            nulls = new long[(n + 63) >>> 6];
+            readLongs(channel, offsets[1], nulls);
+        }
+        switch (footer.types[c]) {
+            case INT -> {
+                int[] values = new int[n];
+                readInts(channel, offsets[0], values);
+                return new IntColumn(values, nulls, n);
+            }
+            case LONG -> {
+                long[] values = new long[n];
+                readLongs(channel, offsets[0], values);
+                return new LongColumn(values, nulls, n);
+            }
+            case DOUBLE -> {
+                double[] values = new double[n];
+                readDoubles(channel, offsets[0], values);
+                return new DoubleColumn(values, nulls, n);
+            }
+            case BOOLEAN -> {
+                long[] bits = new long[(n + 63) >>> 6];
+                readLongs(channel, offsets[0], bits);
+                return new BooleanColumn(bits, nulls, n);
+            }
+            case STRING -> {
+                int[] codes = new int[n];
+                readInts(channel, offsets[0], codes);
+                return new StringColumn(codes, readDictionary(channel, offsets[2]), n);
+            }
+            default -> throw new IllegalArgumentException("Unsupported column type " + footer.types[c]);
+        }
+    }
+
+    private static String[] readDictionary(FileChannel channel, long offset) throws IOException {
+        ByteBuffer head = map(channel, offset, 4);
+        int count = head.getInt();
+        int[] lengths = new int[count];
+        readInts(channel, offset + 4, lengths);
+        long total = 0;
+        for (int length : lengths) total += length;
+        if (total > Integer.MAX_VALUE) {
+            throw new IOException("String dictionary larger than 2GB");
+        }
+        ByteBuffer bytes = map(channel, offset + 4 + 4L * count, total);
+        byte[] buffer = new byte[(int) total];
+        bytes.get(buffer);
+        String[] dictionary = new String[count];
+        int position = 0;
+        for (int k = 0; k < count; k++) {
+            dictionary[k] = new String(buffer, position, lengths[k], StandardCharsets.UTF_8);
+            position += lengths[k];
+        }
+        return dictionary;
+    }
+
+    private static Footer readFooter(FileChannel channel, String filePath) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < 2L * MAGIC.length + 8) {
+            throw new IOException("Not an ML4J columnar file: " + filePath);
+        }
+        ByteBuffer tail = map(channel, fileSize - MAGIC.length - 8, MAGIC.length + 8);
+        long footerLength = tail.getLong();
+        byte[] magic = new byte[MAGIC.length];
+        tail.get(magic);
+        ByteBuffer head = map(channel, 0, MAGIC.length);
+        byte[] headMagic = new byte[MAGIC.length];
+        head.get(headMagic);
+        if (!Arrays.equals(magic, MAGIC) || !Arrays.equals(headMagic, MAGIC)
+                || footerLength <= 0 || footerLength > fileSize - 2L * MAGIC.length - 8) {
+            throw new IOException("Not an ML4J columnar file: " + filePath);
+        }
+
+        ByteBuffer in = map(channel, fileSize - MAGIC.length - 8 - footerLength, footerLength);
+        int version = in.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported columnar file version " + version + ": " + filePath);
+        }
+        Footer footer = new Footer(in.getInt(), in.getInt());
+        for (int c = 0; c < footer.names.length; c++) {
+            footer.names[c] = getString(in);
+            footer.types[c] = ColumnType.valueOf(getString(in));
+            footer.offsets[c] = new long[] {in.getLong(), in.getLong(), in.getLong()};
+            footer.stats[c] = new ColumnStats(in.getLong(), in.getLong(), in.getDouble(), in.getDouble(),
+                    in.getDouble(), in.getDouble(), in.getDouble());
+        }
+        return footer;
+    }
+
+    private static String getString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void readInts(FileChannel channel, long offset, int[] dst) throws IOException {
+        int done = 0;
+        while (done < dst.length) {
+            int count = (int) Math.min(dst.length - done, MAX_MAP / 4);
+            map(channel, offset + 4L * done, 4L * count).asIntBuffer().get(dst, done, count);
+            done += count;
+        }
+    }
+
+    private static void readLongs(FileChannel channel, long offset, long[] dst) throws IOException {
+        int done = 0;
+        while (done < dst.length) {
+            int count = (int) Math.min(dst.length - done, MAX_MAP / 8);
+            map(channel, offset + 8L * done, 8L * count).asLongBuffer().get(dst, done, count);
+            done += count;
+        }
+    }
+
+    private static void readDoubles(FileChannel channel, long offset, double[] dst) throws IOException {
+        int done = 0;
+        while (done < dst.length) {
+            int count = (int) Math.min(dst.length - done, MAX_MAP / 8);
+            map(channel, offset + 8L * done, 8L * count).asDoubleBuffer().get(dst, done, count);
+            done += count;
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, long offset, long length) throws IOException {
+        if (offset < 0 || offset + length > channel.size()) {
+            throw new IOException("Corrupt columnar file: block outside the file");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static final class Footer {
+        final int rows;
+        final String[] names;
+        final ColumnType[] types;
+        final long[][] offsets;
+        final ColumnStats[] stats;
+
+        Footer(int rows, int columns) {
+            this.rows = rows;
+            this.names = new String[columns];
+            this.types = new ColumnType[columns];
+            this.offsets = new long[columns][];
+            this.stats = new ColumnStats[columns];
+        }
+    }
+
+    // buffered little-endian writer that keeps track of the file position
+    private static final class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private long flushed;
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        long position() {
+            return flushed + buffer.position();
+        }
+
+        void putInt(int v) throws IOException {
+            ensure(4);
+            buffer.putInt(v);
+        }
+
+        void putLong(long v) throws IOException {
+            ensure(8);
+            buffer.putLong(v);
+        }
+
+        void putDouble(double v) throws IOException {
+            ensure(8);
+            buffer.putDouble(v);
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            int done = 0;
+            while (done < bytes.length) {
+                if (!buffer.hasRemaining()) flush();
+                int count = Math.min(bytes.length - done, buffer.remaining());
+                buffer.put(bytes, done, count);
+                done += count;
+            }
+        }
+
+        void putString(String s) throws IOException {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            putBytes(bytes);
+        }
+
+        // pads with zeros up to the next multiple of 8 bytes
+        void align() throws IOException {
+            while ((position() & 7) != 0) {
+                ensure(1);
+                buffer.put((byte) 0);
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) flush();
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                flushed += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package mlcore.dataframe.io;
+
+import mlcore.dataframe.columns.ColumnBuilder;
+import mlcore.dataframe.columns.ColumnType;
+
+// converts CSV fields into typed column builder appends
+final class CsvFields {
+
+    private CsvFields() {
+    }
+
+    // no declared type: numbers become INT/LONG/DOUBLE, anything else a string
+    static void append(CsvRecord record, int field, ColumnBuilder builder, NumberParser numbers) {
+        int length = field < record.fieldCount() ? record.length(field) : 0;
+        if (length == 0) {
+            builder.appendNull();
+            return;
+        }
+        appendClassified(record, field, builder, numbers);
+    }
+
+    /*
+     * Parses the field straight into the declared type. A value that does not fit is an
+     * error when the type was given by the user (strict); for inferred types the
+     * builder promotes instead, so a sample that missed a wider value loses no data.
+     */
+    static void appendTyped(CsvRecord record, int field, ColumnBuilder builder, ColumnType type,
+                            boolean strict, String columnName, NumberParser numbers) {
+        int length = field < record.fieldCount() ? record.length(field) : 0;
+        if (length == 0) {
+            builder.appendNull();
+            return;
+        }
+        switch (type) {
+            case STRING -> {
+                builder.appendString(record.getString(field));
+                return;
+            }
+            case BOOLEAN -> {
+                Boolean value = parseBoolean(record.getString(field));
+                if (value != null) {
+                    builder.appendBoolean(value);
+                    return;
+                }
+            }
+            case INT -> {
+                if (record.parseNumber(field, numbers) == NumberParser.INT) {
+                    builder.appendInt((int) numbers.longValue);
+                    return;
+                }
+            }
+            case LONG -> {
+                int kind = record.parseNumber(field, numbers);
+                if (kind == NumberParser.INT || kind == NumberParser.LONG) {
+                    builder.appendLong(numbers.longValue);
+                    return;
+                }
+            }
+            case DOUBLE -> {
+                int kind = record.parseNumber(field, numbers);
+                if (kind == NumberParser.DOUBLE) {
+                    builder.appendDouble(numbers.doubleValue);
+                    return;
+                }
+                if (kind != NumberParser.NOT_A_NUMBER) {
+                    builder.appendDouble(numbers.longValue);
+                    return;
+                }
+            }
+            default -> {
+                appendClassified(record, field, builder, numbers);
+                return;
+            }
+        }
+        if (strict) {
+            throw new IllegalArgumentException("Column " + columnName + ": cannot parse '"
+                    + record.getString(field) + "' as " + type);
+        }
+        appendClassified(record, field, builder, numbers);
+    }
+
+    static Boolean parseBoolean(String text) {
+        if ("true".equalsIgnoreCase(text)) return Boolean.TRUE;
+        if ("false".equalsIgnoreCase(text)) return Boolean.FALSE;
+        return null;
+    }
+
+    private static void appendClassified(CsvRecord record, int field, ColumnBuilder builder, NumberParser numbers) {
+        switch (record.parseNumber(field, numbers)) {
+            case NumberParser.INT -> builder.appendInt((int) numbers.longValue);
+            case NumberParser.LONG -> builder.appendLong(numbers.longValue);
+            case NumberParser.DOUBLE -> builder.appendDouble(numbers.doubleValue);
+            default -> builder.appendString(record.getString(field));
+        }
+    }
+}
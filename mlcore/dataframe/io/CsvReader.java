@@ -0,0 +1,166 @@
+package mlcore.dataframe.io;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.columns.ColumnBuilder;
+import mlcore.dataframe.columns.ColumnType;
+import mlcore.dataframe.columns.Schema;
+
+/**
+ * Streams a CSV file as a sequence of DataFrame chunks of at most {@code chunkSize} rows.
+ *
+ * Only the current chunk is held in memory, so arbitrarily large files can be processed
+ * at a steady footprint. Cells are parsed straight into typed column builders without
+ * going through boxed values or exceptions.
+ *
+ * Column types come from the given {@link Schema}; columns it does not cover are
+ * inferred from the first rows of the file, so every chunk has the same types.
+ * Values that do not fit a user-declared type are rejected with an
+ * IllegalArgumentException.
+ *
+ * <pre>
+ * try (CsvReader reader = DataFrame.readCSVChunks("events.csv", ",", 100_000)) {
+ *     while (reader.hasNext()) {
+ *         DataFrame chunk = reader.next();
+ *         ...
+ *     }
+ * }
+ * </pre>
+ */
+public class CsvReader implements Iterator<DataFrame>, Closeable {
+
+    private final CsvTokenizer tokenizer;
+    private final int chunkSize;
+    private final List<String> headers = new ArrayList<>();
+    private final NumberParser numbers = new NumberParser();
+    private ColumnType[] types;
+    private boolean[] strict;
+    private boolean hasRecord;
+
+    public CsvReader(String filePath, String delimiter, int chunkSize) throws IOException {
+        this(filePath, delimiter, chunkSize, null);
+    }
+
+    public CsvReader(String filePath, String delimiter, int chunkSize, Schema schema) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+        this.tokenizer = new CsvTokenizer(
+                new InputStreamReader(new FileInputStream(filePath), StandardCharsets.UTF_8),
+                resolveDelimiter(delimiter));
+        try {
+            if (tokenizer.next()) {
+                for (int i = 0; i < tokenizer.fieldCount(); i++) {
+                    headers.add(tokenizer.getString(i));
+                }
+                tokenizer.keepBlankLines(headers.size() == 1);
+                hasRecord = tokenizer.next();
+            }
+            Schema inferred = SchemaInference.covers(schema, headers) ? null : SchemaInference.inferCSV(filePath, delimiter);
+            types = SchemaInference.resolve(headers, schema, inferred);
+            strict = new boolean[headers.size()];
+            for (int j = 0; j < strict.length; j++) {
+                strict[j] = schema != null && schema.contains(headers.get(j));
+            }
+        } catch (IOException | RuntimeException e) {
+            tokenizer.close();
+            throw e;
+        }
+    }
+
+    public Schema getSchema() {
+        Schema schema = new Schema();
+        for (int j = 0; j < headers.size(); j++) {
+            schema.add(headers.get(j), types[j]);
+        }
+        return schema;
+    }
+
+    public List<String> getHeaders() {
+        return Collections.unmodifiableList(headers);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasRecord;
+    }
+
+    @Override
+    public DataFrame next() {
+        if (!hasRecord) {
+            throw new NoSuchElementException();
+        }
+        return readChunk(chunkSize);
+    }
+
+    // reads every remaining row into one DataFrame, keeping the columns even when there are no rows
+    public DataFrame readAll() {
+        if (headers.isEmpty()) return new DataFrame();
+        return readChunk(Integer.MAX_VALUE);
+    }
+
+    private DataFrame readChunk(int maxRows) {
+        int nCols = headers.size();
+        ColumnBuilder[] builders = new ColumnBuilder[nCols];
+        for (int j = 0; j < nCols; j++) {
+            builders[j] = new ColumnBuilder(types[j], Math.min(maxRows, 1024));
+        }
+
+        try {
+            int rows = 0;
+            while (hasRecord && rows < maxRows) {
+                for (int j = 0; j < nCols; j++) {
+                    CsvFields.appendTyped(tokenizer, j, builders[j], types[j], strict[j], headers.get(j), numbers);
+                }
+                rows++;
+                hasRecord = tokenizer.next();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Map<String, List<Object>> columns = new LinkedHashMap<>();
+        for (int j = 0; j < nCols; j++) {
+            columns.put(headers.get(j), builders[j].build());
+        }
+        return new DataFrame(columns);
+    }
+
+    /*
+     * The old reader passed the delimiter to String.split, so callers may hand us a
+     * regex-escaped character such as "\\|" or "\\t". Only single-character
+     * delimiters are supported.
+     */
+    static char resolveDelimiter(String delimiter) {
+        if (delimiter == null || delimiter.isEmpty()) {
+            throw new IllegalArgumentException("Delimiter must not be empty");
+        }
+        if (delimiter.length() == 1) {
+            return delimiter.charAt(0);
+        }
+        if (delimiter.length() == 2 && delimiter.charAt(0) == '\\') {
+            char c = delimiter.charAt(1);
+            return c == 't' ? '\t' : c;
+        }
+        throw new IllegalArgumentException("Unsupported delimiter: " + delimiter + " (expected a single character)");
+    }
+
+    @Override
+    public void close() throws IOException {
+        tokenizer.close();
+    }
+}
@@ -0,0 +1,14 @@
+package mlcore.dataframe.io;
+
+// the current record of a CSV tokenizer, independent of char or byte input
+interface CsvRecord {
+
+    int fieldCount();
+
+    int length(int field);
+
+    String getString(int field);
+
+    // classifies the field with the given parser, see NumberParser.parse
+    int parseNumber(int field, NumberParser numbers);
+}
@@ -0,0 +1,177 @@
+package mlcore.dataframe.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Hand-written, quote-aware CSV tokenizer.
+ *
+ * Records are read one at a time into a reusable char buffer, so tokenizing does not
+ * allocate per field. Fields may be wrapped in double quotes, in which case they can
+ * contain the delimiter, line breaks and doubled quotes ({@code ""}). Unquoted fields
+ * are trimmed. Blank lines are skipped, except in one-column files (see
+ * {@link #keepBlankLines}) where they are empty values; a quoted {@code ""} always is a record.
+ */
+public class CsvTokenizer implements CsvRecord, Closeable {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final char delimiter;
+    private final char[] buffer = new char[1 << 16];
+    private int pos;
+    private int limit;
+
+    private char[] record = new char[256];
+    private int recordLength;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int fieldCount;
+    private boolean quoted;
+    private boolean keepBlankLines;
+
+    public CsvTokenizer(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    // reads the next non-blank record, returns false at end of input
+    public boolean next() throws IOException {
+        while (true) {
+            int c = peek();
+            if (c == EOF) return false;
+            readRecord();
+            if (fieldCount > 1 || ends[0] > starts[0] || quoted || keepBlankLines) return true;
+        }
+    }
+
+    // returns blank lines as records with one empty field; set after the header of a one-column file
+    public void keepBlankLines(boolean keep) {
+        this.keepBlankLines = keep;
+    }
+
+    @Override
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    public char[] chars() {
+        return record;
+    }
+
+    public int start(int field) {
+        return starts[field];
+    }
+
+    @Override
+    public int length(int field) {
+        return ends[field] - starts[field];
+    }
+
+    @Override
+    public String getString(int field) {
+        return new String(record, starts[field], ends[field] - starts[field]);
+    }
+
+    @Override
+    public int parseNumber(int field, NumberParser numbers) {
+        return numbers.parse(record, starts[field], ends[field] - starts[field]);
+    }
+
+    private void readRecord() throws IOException {
+        recordLength = 0;
+        fieldCount = 0;
+        quoted = false;
+        while (true) {
+            int terminator = readField();
+            if (terminator != delimiter) return; // line break or end of input
+        }
+    }
+
+    // reads one field into the record buffer, returns the character that ended it
+    private int readField() throws IOException {
+        int c = read();
+        while (isBlank(c)) c = read();
+
+        int start = recordLength;
+        int end;
+        if (c == '"') {
+            quoted = true;
+            while (true) {
+                c = read();
+                if (c == EOF) break;
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        append('"');
+                        continue;
+                    }
+                    break;
+                }
+                append((char) c);
+            }
+            end = recordLength;
+            // ignore anything between the closing quote and the next delimiter
+            c = read();
+            while (c != EOF && c != delimiter && c != '\n' && c != '\r') c = read();
+        } else {
+            int lastNonBlank = recordLength;
+            while (c != EOF && c != delimiter && c != '\n' && c != '\r') {
+                append((char) c);
+                if (!isBlank(c)) lastNonBlank = recordLength;
+                c = read();
+            }
+            end = lastNonBlank;
+        }
+        if (c == '\r' && peek() == '\n') read();
+
+        addField(start, end);
+        return c;
+    }
+
+    private boolean isBlank(int c) {
+        return (c == ' ' || c == '\t') && c != delimiter;
+    }
+
+    private void addField(int start, int end) {
+        if (fieldCount == starts.length) {
+            starts = Arrays.copyOf(starts, fieldCount * 2);
+            ends = Arrays.copyOf(ends, fieldCount * 2);
+        }
+        starts[fieldCount] = start;
+        ends[fieldCount] = end;
+        fieldCount++;
+    }
+
+    private void append(char c) {
+        if (recordLength == record.length) {
+            record = Arrays.copyOf(record, record.length * 2);
+        }
+        record[recordLength++] = c;
+    }
+
+    private int read() throws IOException {
+        if (pos == limit && !fill()) return EOF;
+        return buffer[pos++];
+    }
+
+    private int peek() throws IOException {
+        if (pos == limit && !fill()) return EOF;
+        return buffer[pos];
+    }
+
+    private boolean fill() throws IOException {
+        int n = reader.read(buffer, 0, buffer.length);
+        if (n <= 0) return false;
+        pos = 0;
+        limit = n;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,354 @@
+package mlcore.dataframe.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.columns.ColumnBuilder;
+import mlcore.dataframe.columns.ColumnType;
+import mlcore.dataframe.columns.Schema;
+
+/**
+ * Streaming .xlsx reader built on POI's XSSF event model.
+ *
+ * The sheet XML is read with a SAX parser and every cell is appended straight into a
+ * typed column builder, so no workbook DOM is ever built. Shared strings are read
+ * through POI's read-only table. The first row holds the headers.
+ *
+ * <pre>
+ * DataFrame df = new ExcelReader().sheet("Sales").maxRows(100_000).read("report.xlsx");
+ * </pre>
+ */
+public class ExcelReader {
+
+    private String sheetName;
+    private int sheetIndex = 0;
+    private int maxRows = Integer.MAX_VALUE;
+    private Schema schema;
+
+    // selects a sheet by name (defaults to the first sheet)
+    public ExcelReader sheet(String name) {
+        this.sheetName = name;
+        return this;
+    }
+
+    // selects a sheet by zero-based position
+    public ExcelReader sheet(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Sheet index must not be negative");
+        }
+        this.sheetName = null;
+        this.sheetIndex = index;
+        return this;
+    }
+
+    // stops after this many data rows (the header row is not counted)
+    public ExcelReader maxRows(int maxRows) {
+        if (maxRows < 0) {
+            throw new IllegalArgumentException("Row limit must not be negative");
+        }
+        this.maxRows = maxRows;
+        return this;
+    }
+
+    // declared column types; values that do not fit are rejected
+    public ExcelReader schema(Schema schema) {
+        this.schema = schema;
+        return this;
+    }
+
+    public DataFrame read(String filePath) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(filePath, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            try (InputStream sheet = openSheet(reader)) {
+                SheetHandler handler = new SheetHandler(strings, styles);
+                XMLReader parser = newParser();
+                parser.setContentHandler(handler);
+                try {
+                    parser.parse(new InputSource(sheet));
+                } catch (RowLimitReached e) {
+                    // requested number of rows has been read
+                }
+                return handler.toDataFrame();
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Cannot read Excel file " + filePath, e);
+        }
+    }
+
+    private InputStream openSheet(XSSFReader reader) throws IOException, OpenXML4JException {
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        int index = 0;
+        while (sheets.hasNext()) {
+            InputStream sheet = sheets.next();
+            boolean match = sheetName != null ? sheetName.equals(sheets.getSheetName()) : index == sheetIndex;
+            if (match) return sheet;
+            sheet.close();
+            index++;
+        }
+        throw new IllegalArgumentException("Sheet not found: " + (sheetName != null ? sheetName : "#" + sheetIndex));
+    }
+
+    private static XMLReader newParser() throws ParserConfigurationException, SAXException {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        return factory.newSAXParser().getXMLReader();
+    }
+
+    // "BC12" -> 54 (zero-based column of a cell reference)
+    static int columnIndex(String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length(); i++) {
+            char c = cellReference.charAt(i);
+            if (c < 'A' || c > 'Z') break;
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    // thrown from the handler to stop parsing once maxRows rows have been read
+    private static class RowLimitReached extends SAXException {
+        private static final long serialVersionUID = 1L;
+    }
+
+    private class SheetHandler extends DefaultHandler {
+
+        private final ReadOnlySharedStringsTable strings;
+        private final StylesTable styles;
+        private final Map<Integer, Boolean> dateStyles = new LinkedHashMap<>();
+        private final NumberParser numbers = new NumberParser();
+        private final TextRecord text = new TextRecord();
+
+        private final List<String> headers = new ArrayList<>();
+        private final List<Integer> headerColumns = new ArrayList<>();
+        private ColumnBuilder[] builders;        // indexed by sheet column, null for unused columns
+        private ColumnType[] types;
+        private boolean[] strict;
+        private boolean[] filled;
+
+        private boolean headerDone;
+        private int rows;
+        private int nextColumn;
+
+        private final StringBuilder value = new StringBuilder();
+        private boolean inValue;
+        private String cellType;
+        private int cellStyle;
+        private int cellColumn;
+
+        SheetHandler(ReadOnlySharedStringsTable strings, StylesTable styles) {
+            this.strings = strings;
+            this.styles = styles;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> nextColumn = 0;
+                case "c" -> {
+                    String ref = attributes.getValue("r");
+                    cellColumn = ref != null ? columnIndex(ref) : nextColumn;
+                    nextColumn = cellColumn + 1;
+                    cellType = attributes.getValue("t");
+                    String style = attributes.getValue("s");
+                    cellStyle = style != null ? Integer.parseInt(style) : -1;
+                    value.setLength(0);
+                }
+                case "v", "t" -> inValue = true;
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue) value.append(ch, start, length);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            switch (localName) {
+                case "v", "t" -> inValue = false;
+                case "c" -> {
+                    if (headerDone) {
+                        appendCell();
+                    } else {
+                        String header = cellText();
+                        if (header != null && !header.isEmpty()) {
+                            headers.add(header);
+                            headerColumns.add(cellColumn);
+                        }
+                    }
+                }
+                case "row" -> endRow();
+                default -> {
+                }
+            }
+        }
+
+        private void endRow() throws SAXException {
+            if (!headerDone) {
+                if (headers.isEmpty()) return; // leading empty row
+                startColumns();
+                headerDone = true;
+                if (maxRows == 0) throw new RowLimitReached();
+                return;
+            }
+            // cells missing from this row are missing values
+            for (int k = 0; k < headerColumns.size(); k++) {
+                int column = headerColumns.get(k);
+                if (!filled[column]) builders[column].appendNull();
+                filled[column] = false;
+            }
+            rows++;
+            if (rows >= maxRows) throw new RowLimitReached();
+        }
+
+        private void startColumns() {
+            int width = 0;
+            for (int column : headerColumns) width = Math.max(width, column + 1);
+            builders = new ColumnBuilder[width];
+            types = new ColumnType[width];
+            strict = new boolean[width];
+            filled = new boolean[width];
+            for (int k = 0; k < headers.size(); k++) {
+                int column = headerColumns.get(k);
+                String name = headers.get(k);
+                types[column] = schema != null ? schema.getType(name) : null;
+                strict[column] = types[column] != null;
+                builders[column] = new ColumnBuilder(types[column], 1024);
+            }
+        }
+
+        private void appendCell() {
+            if (cellColumn >= builders.length || builders[cellColumn] == null || filled[cellColumn]) return;
+            filled[cellColumn] = true;
+            ColumnBuilder builder = builders[cellColumn];
+            String raw = value.toString();
+
+            if (cellType == null || "n".equals(cellType)) {
+                if (raw.isEmpty()) {
+                    builder.appendNull();
+                } else if (isDateStyle(cellStyle)) {
+                    builder.append(DateUtil.getJavaDate(Double.parseDouble(raw)));
+                } else {
+                    appendNumber(builder, raw);
+                }
+                return;
+            }
+            switch (cellType) {
+                case "b" -> appendBoolean(builder, raw);
+                case "e" -> builder.appendNull(); // error cell
+                default -> appendText(builder, cellText());
+            }
+        }
+
+        private void appendNumber(ColumnBuilder builder, String raw) {
+            ColumnType type = types[cellColumn];
+            if (type == ColumnType.STRING) {
+                builder.appendString(raw);
+                return;
+            }
+            if (type == ColumnType.INT || type == ColumnType.LONG) {
+                appendText(builder, raw); // integral cells parse exactly; fractions are rejected or promoted
+                return;
+            }
+            if (type == ColumnType.BOOLEAN && strict[cellColumn]) {
+                throw new IllegalArgumentException("Column " + headerOf(cellColumn) + ": cannot parse '" + raw + "' as BOOLEAN");
+            }
+            int kind = numbers.parse(raw);
+            if (kind == NumberParser.DOUBLE) {
+                builder.appendDouble(numbers.doubleValue);
+            } else if (kind != NumberParser.NOT_A_NUMBER) {
+                builder.appendDouble(numbers.longValue);
+            } else {
+                builder.appendDouble(Double.parseDouble(raw));
+            }
+        }
+
+        private void appendBoolean(ColumnBuilder builder, String raw) {
+            ColumnType type = types[cellColumn];
+            boolean v = "1".equals(raw) || "true".equalsIgnoreCase(raw);
+            if (type == null || type == ColumnType.BOOLEAN || type == ColumnType.OBJECT) {
+                builder.appendBoolean(v);
+            } else {
+                appendText(builder, Boolean.toString(v));
+            }
+        }
+
+        private void appendText(ColumnBuilder builder, String s) {
+            if (s == null || s.trim().isEmpty()) {
+                builder.appendNull();
+                return;
+            }
+            text.set(s.trim());
+            ColumnType type = types[cellColumn];
+            if (type == null) {
+                CsvFields.append(text, 0, builder, numbers);
+            } else {
+                CsvFields.appendTyped(text, 0, builder, type, strict[cellColumn], headerOf(cellColumn), numbers);
+            }
+        }
+
+        // string content of the current cell, resolving shared strings
+        private String cellText() {
+            String raw = value.toString();
+            if ("s".equals(cellType)) {
+                if (raw.isEmpty()) return null;
+                return strings.getItemAt(Integer.parseInt(raw)).getString();
+            }
+            return raw;
+        }
+
+        private boolean isDateStyle(int styleIndex) {
+            if (styleIndex < 0 || styles == null) return false;
+            return dateStyles.computeIfAbsent(styleIndex, idx -> {
+                XSSFCellStyle style = styles.getStyleAt(idx);
+                return style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+            });
+        }
+
+        private String headerOf(int column) {
+            return headers.get(headerColumns.indexOf(column));
+        }
+
+        DataFrame toDataFrame() {
+            if (!headerDone) {
+                if (headers.isEmpty()) return new DataFrame();
+                startColumns();
+            }
+            Map<String, List<Object>> data = new LinkedHashMap<>();
+            for (int k = 0; k < headers.size(); k++) {
+                data.put(headers.get(k), builders[headerColumns.get(k)].build());
+            }
+            return new DataFrame(data);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package mlcore.dataframe.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.columns.ColumnBuilder;
+import mlcore.dataframe.columns.ColumnType;
+import mlcore.dataframe.columns.Schema;
+
+/**
+ * Streaming JSON reader built on Jackson's token API.
+ *
+ * Accepts either a JSON array of objects or newline-delimited JSON (one object per
+ * line). Objects are appended straight into column builders as tokens arrive, so the
+ * document is never materialised. Columns are the union of all keys seen: a key that
+ * first appears late is back-filled with missing values, and keys absent from an
+ * object are recorded as missing for that row. Nested objects and arrays are kept as
+ * Map / List values.
+ */
+public class JsonReader {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final Schema schema;
+    private final NumberParser numbers = new NumberParser();
+    private final TextRecord text = new TextRecord();
+
+    public JsonReader() {
+        this(null);
+    }
+
+    // declared column types; values that do not fit are rejected
+    public JsonReader(Schema schema) {
+        this.schema = schema;
+    }
+
+    public DataFrame read(String filePath) throws IOException {
+        Map<String, ColumnBuilder> columns = new LinkedHashMap<>();
+        try (JsonParser parser = FACTORY.createParser(new File(filePath))) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) token = parser.nextToken();
+
+            int rows = 0;
+            while (token != null && token != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("Expected a JSON object but found " + token);
+                }
+                readObject(parser, columns, rows);
+                rows++;
+                // keys missing from this object are missing values
+                for (ColumnBuilder builder : columns.values()) {
+                    if (builder.size() < rows) builder.appendNull();
+                }
+                token = parser.nextToken();
+            }
+        }
+
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        for (Map.Entry<String, ColumnBuilder> entry : columns.entrySet()) {
+            data.put(entry.getKey(), entry.getValue().build());
+        }
+        return new DataFrame(data);
+    }
+
+    private void readObject(JsonParser parser, Map<String, ColumnBuilder> columns, int row) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+
+            ColumnBuilder builder = columns.get(name);
+            if (builder == null) {
+                builder = new ColumnBuilder(schema != null ? schema.getType(name) : null, 1024);
+                for (int i = 0; i < row; i++) builder.appendNull(); // key first seen in this row
+                columns.put(name, builder);
+            }
+            if (builder.size() > row) {
+                parser.skipChildren(); // duplicate key, keep the first value
+                continue;
+            }
+            appendValue(parser, valueToken, builder, name);
+        }
+        if (token != JsonToken.END_OBJECT) {
+            throw new IllegalArgumentException("Malformed JSON object, found " + token);
+        }
+    }
+
+    private void appendValue(JsonParser parser, JsonToken token, ColumnBuilder builder, String name) throws IOException {
+        ColumnType type = schema != null ? schema.getType(name) : null;
+        switch (token) {
+            case VALUE_NULL -> builder.appendNull();
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> {
+                if (type == null || type == ColumnType.OBJECT) {
+                    appendNumber(parser, builder);
+                } else {
+                    appendTyped(parser.getText(), builder, type, name);
+                }
+            }
+            case VALUE_TRUE, VALUE_FALSE -> {
+                if (type == null || type == ColumnType.BOOLEAN || type == ColumnType.OBJECT) {
+                    builder.appendBoolean(token == JsonToken.VALUE_TRUE);
+                } else {
+                    appendTyped(parser.getText(), builder, type, name);
+                }
+            }
+            case VALUE_STRING -> {
+                if (type == null || type == ColumnType.STRING || type == ColumnType.OBJECT) {
+                    builder.appendString(parser.getText());
+                } else {
+                    appendTyped(parser.getText(), builder, type, name);
+                }
+            }
+            case START_OBJECT, START_ARRAY -> builder.append(readNested(parser, token));
+            default -> throw new IllegalArgumentException("Unexpected JSON token " + token);
+        }
+    }
+
+    private void appendNumber(JsonParser parser, ColumnBuilder builder) throws IOException {
+        switch (parser.getNumberType()) {
+            case INT -> builder.appendInt(parser.getIntValue());
+            case LONG -> builder.appendLong(parser.getLongValue());
+            default -> builder.appendDouble(parser.getDoubleValue());
+        }
+    }
+
+    private void appendTyped(String value, ColumnBuilder builder, ColumnType type, String name) {
+        CsvFields.appendTyped(text.set(value), 0, builder, type, true, name, numbers);
+    }
+
+    // nested values keep the shape the old ObjectMapper-based reader produced
+    private Object readNested(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT -> {
+                Map<String, Object> map = new LinkedHashMap<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    map.put(name, readNested(parser, parser.nextToken()));
+                }
+                return map;
+            }
+            case START_ARRAY -> {
+                List<Object> list = new ArrayList<>();
+                JsonToken next;
+                while ((next = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    list.add(readNested(parser, next));
+                }
+                return list;
+            }
+            case VALUE_NUMBER_INT -> {
+                return parser.getNumberValue();
+            }
+            case VALUE_NUMBER_FLOAT -> {
+                return parser.getDoubleValue();
+            }
+            case VALUE_STRING -> {
+                return parser.getText();
+            }
+            case VALUE_TRUE -> {
+                return Boolean.TRUE;
+            }
+            case VALUE_FALSE -> {
+                return Boolean.FALSE;
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+}
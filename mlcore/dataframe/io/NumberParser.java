@@ -0,0 +1,136 @@
+package mlcore.dataframe.io;
+
+/**
+ * Exception-free number recognition for reader tokens.
+ *
+ * {@link #parse} validates the token by hand and stores the value in {@link #longValue}
+ * or {@link #doubleValue}, returning the kind that was recognised. Non-numeric text
+ * simply returns {@link #NOT_A_NUMBER}, so readers never pay for a thrown
+ * NumberFormatException on string cells.
+ */
+public class NumberParser {
+
+    public static final int NOT_A_NUMBER = 0;
+    public static final int INT = 1;
+    public static final int LONG = 2;
+    public static final int DOUBLE = 3;
+
+    // powers of ten that are exactly representable as doubles
+    private static final double[] POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    public long longValue;
+    public double doubleValue;
+
+    private char[] scratch = new char[32];
+
+    public int parse(CharSequence s) {
+        int len = s.length();
+        if (len > scratch.length) scratch = new char[len];
+        for (int i = 0; i < len; i++) scratch[i] = s.charAt(i);
+        return parse(scratch, 0, len);
+    }
+
+    // UTF-8 / ASCII bytes, as produced by the memory-mapped readers
+    public int parse(byte[] s, int off, int len) {
+        if (len == 0) return NOT_A_NUMBER;
+        byte first = s[off];
+        if (first != '-' && first != '+' && first != '.' && (first < '0' || first > '9')) {
+            return NOT_A_NUMBER; // cheap rejection of text cells
+        }
+        if (len > scratch.length) scratch = new char[len];
+        for (int i = 0; i < len; i++) scratch[i] = (char) s[off + i];
+        return parse(scratch, 0, len);
+    }
+
+    public int parse(char[] s, int off, int len) {
+        int end = off + len;
+        int i = off;
+        if (i == end) return NOT_A_NUMBER;
+
+        boolean negative = false;
+        if (s[i] == '-' || s[i] == '+') {
+            negative = s[i] == '-';
+            i++;
+        }
+
+        // digits are accumulated while the mantissa fits in a long, so every 19-digit long is exact
+        long mantissa = 0;
+        int digits = 0;
+        boolean overflow = false;
+
+        for (; i < end; i++) {
+            int d = s[i] - '0';
+            if (d < 0 || d > 9) break;
+            digits++;
+            if (!overflow && mantissa <= (Long.MAX_VALUE - d) / 10) {
+                mantissa = mantissa * 10 + d;
+            } else {
+                overflow = true;
+            }
+        }
+
+        if (i == end) {
+            if (digits == 0) return NOT_A_NUMBER;
+            if (!overflow) {
+                longValue = negative ? -mantissa : mantissa;
+                return (longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE) ? INT : LONG;
+            }
+            return slowDouble(s, off, len);
+        }
+
+        int fractionDigits = 0;
+        if (s[i] == '.') {
+            i++;
+            for (; i < end; i++) {
+                int d = s[i] - '0';
+                if (d < 0 || d > 9) break;
+                digits++;
+                if (!overflow && mantissa <= (Long.MAX_VALUE - d) / 10) {
+                    mantissa = mantissa * 10 + d;
+                    fractionDigits++;
+                } else {
+                    overflow = true;
+                }
+            }
+        }
+        if (digits == 0) return NOT_A_NUMBER;
+
+        int exponent = 0;
+        if (i < end && (s[i] == 'e' || s[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (s[i] == '-' || s[i] == '+')) {
+                negativeExponent = s[i] == '-';
+                i++;
+            }
+            int expDigits = 0;
+            for (; i < end; i++) {
+                int d = s[i] - '0';
+                if (d < 0 || d > 9) break;
+                if (exponent < 100000) exponent = exponent * 10 + d;
+                expDigits++;
+            }
+            if (expDigits == 0) return NOT_A_NUMBER;
+            if (negativeExponent) exponent = -exponent;
+        }
+        if (i != end) return NOT_A_NUMBER;
+
+        // fast path: exact when the mantissa fits in 53 bits and the power of ten is exact
+        int exp10 = exponent - fractionDigits;
+        if (!overflow && mantissa < (1L << 53) && exp10 >= -22 && exp10 <= 22) {
+            double value = exp10 < 0 ? mantissa / POW10[-exp10] : mantissa * POW10[exp10];
+            doubleValue = negative ? -value : value;
+            return DOUBLE;
+        }
+        return slowDouble(s, off, len);
+    }
+
+    // the token has already been validated, so this cannot throw
+    private int slowDouble(char[] s, int off, int len) {
+        doubleValue = Double.parseDouble(new String(s, off, len));
+        return DOUBLE;
+    }
+}
@@ -0,0 +1,418 @@
+package mlcore.dataframe.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.columns.Column;
+import mlcore.dataframe.columns.ColumnBuilder;
+import mlcore.dataframe.columns.ColumnType;
+import mlcore.dataframe.columns.DoubleColumn;
+import mlcore.dataframe.columns.IntColumn;
+import mlcore.dataframe.columns.LongColumn;
+import mlcore.dataframe.columns.NullMask;
+import mlcore.dataframe.columns.Schema;
+import mlcore.dataframe.columns.StringColumn;
+import mlcore.dataframe.columns.StringDictionary;
+
+/**
+ * Multi-threaded CSV loader working on a memory-mapped file.
+ *
+ * The data section is cut into byte ranges aligned to line boundaries. A first parallel
+ * pass counts the rows of every range, so the final primitive arrays can be allocated
+ * once; a second parallel pass parses each range straight into its slice of those
+ * arrays. Nothing is stitched or copied afterwards: string columns only have their
+ * per-range dictionary codes remapped in place.
+ *
+ * Column types come from the given {@link Schema} or are inferred from the first rows.
+ * A column that later turns out not to fit its inferred type is re-read sequentially
+ * with type promotion, so the result matches {@link CsvReader}; values that do not fit
+ * a user-declared type are rejected. BOOLEAN and OBJECT columns are always read
+ * sequentially.
+ *
+ * Ranges are split on raw line breaks, so quoted fields must not contain line breaks;
+ * such files are rejected with an {@link IllegalArgumentException}, use
+ * {@code DataFrame.readCSV} for them.
+ */
+public class ParallelCsvReader {
+
+    private static final int SAMPLE_ROWS = 1000;
+    private static final long MAX_RANGE_BYTES = 1L << 30;
+
+    private final byte delimiter;
+    private final int threads;
+    private final Schema schema;
+
+    public ParallelCsvReader(String delimiter, int threads) {
+        this(delimiter, threads, null);
+    }
+
+    public ParallelCsvReader(String delimiter, int threads, Schema schema) {
+        char c = CsvReader.resolveDelimiter(delimiter);
+        if (c > 127) {
+            throw new IllegalArgumentException("Delimiter must be an ASCII character");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        this.delimiter = (byte) c;
+        this.threads = threads;
+        this.schema = schema;
+    }
+
+    public DataFrame read(String filePath) throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            return read(channel, pool);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private DataFrame read(FileChannel channel, ExecutorService pool) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize == 0) return new DataFrame();
+
+        // Step 1: header and type inference from the first rows
+        MappedByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(fileSize, MAX_RANGE_BYTES));
+        ByteCsvTokenizer headerTokenizer = new ByteCsvTokenizer(head, 0, head.limit(), delimiter);
+        if (!headerTokenizer.next()) return new DataFrame();
+        List<String> headers = new ArrayList<>();
+        for (int i = 0; i < headerTokenizer.fieldCount(); i++) {
+            headers.add(headerTokenizer.getString(i));
+        }
+        long dataStart = headerTokenizer.position();
+        Schema inferred = SchemaInference.covers(schema, headers)
+                ? null : inferSchema(head, (int) dataStart, head.limit(), headers);
+        ColumnType[] types = SchemaInference.resolve(headers, schema, inferred);
+        boolean[] strict = new boolean[headers.size()];
+        for (int j = 0; j < strict.length; j++) {
+            strict[j] = schema != null && schema.contains(headers.get(j));
+        }
+
+        // Step 2: split the data section into line-aligned ranges and map them
+        List<Range> ranges = split(channel, dataStart, fileSize);
+
+        // Step 3: count rows per range in parallel
+        List<Callable<Integer>> counts = new ArrayList<>();
+        for (Range range : ranges) {
+            counts.add(() -> countRecords(range.buffer, headers.size()));
+        }
+        List<Integer> rowCounts = invokeAll(pool, counts);
+        int totalRows = 0;
+        for (int k = 0; k < ranges.size(); k++) {
+            ranges.get(k).rowStart = totalRows;
+            ranges.get(k).rowCount = rowCounts.get(k);
+            long next = (long) totalRows + rowCounts.get(k);
+            if (next > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("File has too many rows for a DataFrame");
+            }
+            totalRows = (int) next;
+        }
+
+        // Step 4: allocate the final column storage once, then parse ranges into their slices
+        int nCols = headers.size();
+        Object[] storage = new Object[nCols];
+        for (int j = 0; j < nCols; j++) {
+            storage[j] = switch (types[j]) {
+                case INT -> new int[totalRows];
+                case LONG -> new long[totalRows];
+                case DOUBLE -> new double[totalRows];
+                case STRING -> new int[totalRows];
+                default -> null; // re-read sequentially below
+            };
+        }
+        List<Callable<RangeResult>> parses = new ArrayList<>();
+        for (Range range : ranges) {
+            parses.add(() -> parseRange(range, headers, types, strict, storage));
+        }
+        List<RangeResult> results = invokeAll(pool, parses);
+
+        // Step 5: finish the columns
+        boolean[] conflict = new boolean[nCols];
+        for (int j = 0; j < nCols; j++) {
+            conflict[j] = storage[j] == null;
+            for (RangeResult result : results) conflict[j] |= result.conflict[j];
+        }
+        Column[] columns = new Column[nCols];
+        for (int j = 0; j < nCols; j++) {
+            if (conflict[j]) continue;
+            if (types[j] == ColumnType.STRING) {
+                columns[j] = mergeStrings(j, (int[]) storage[j], ranges, results, totalRows, pool);
+            } else {
+                long[] nulls = mergeNulls(j, results, totalRows);
+                columns[j] = switch (types[j]) {
+                    case INT -> new IntColumn((int[]) storage[j], nulls, totalRows);
+                    case LONG -> new LongColumn((long[]) storage[j], nulls, totalRows);
+                    default -> new DoubleColumn((double[]) storage[j], nulls, totalRows);
+                };
+            }
+        }
+        reparseConflicts(ranges, headers, types, strict, conflict, columns, totalRows);
+
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        for (int j = 0; j < nCols; j++) {
+            data.put(headers.get(j), columns[j]);
+        }
+        return new DataFrame(data);
+    }
+
+    private Schema inferSchema(ByteBuffer buffer, int start, int end, List<String> headers) {
+        ByteCsvTokenizer tokenizer = tokenizer(buffer, start, end, headers.size());
+        NumberParser numbers = new NumberParser();
+        TypeSniffer[] sniffers = new TypeSniffer[headers.size()];
+        for (int j = 0; j < sniffers.length; j++) sniffers[j] = new TypeSniffer();
+        for (int row = 0; row < SchemaInference.DEFAULT_SAMPLE_ROWS && tokenizer.next(); row++) {
+            for (int j = 0; j < sniffers.length; j++) {
+                sniffers[j].observe(tokenizer, j, numbers);
+            }
+        }
+        Schema inferred = new Schema();
+        for (int j = 0; j < sniffers.length; j++) {
+            inferred.add(headers.get(j), sniffers[j].result());
+        }
+        return inferred;
+    }
+
+    private List<Range> split(FileChannel channel, long dataStart, long fileSize) throws IOException {
+        long dataLength = fileSize - dataStart;
+        long target = Math.max(threads * 4L, (dataLength + MAX_RANGE_BYTES - 1) / MAX_RANGE_BYTES * 2);
+        long step = Math.max(1, dataLength / target);
+
+        List<Range> ranges = new ArrayList<>();
+        long start = dataStart;
+        while (start < fileSize) {
+            long end = start + step >= fileSize ? fileSize : nextLineStart(channel, start + step, fileSize);
+            ranges.add(new Range(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start)));
+            start = end;
+        }
+        return ranges;
+    }
+
+    // position just after the first line break at or after pos
+    private static long nextLineStart(FileChannel channel, long pos, long fileSize) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(8192);
+        while (pos < fileSize) {
+            window.clear();
+            int n = channel.read(window, pos);
+            if (n <= 0) break;
+            for (int i = 0; i < n; i++) {
+                if (window.get(i) == '\n') return pos + i + 1;
+            }
+            pos += n;
+        }
+        return fileSize;
+    }
+
+    // counts records with the tokenizer's own state machine, so both passes agree on row numbers
+    private int countRecords(ByteBuffer buffer, int nCols) {
+        return tokenizer(buffer, 0, buffer.limit(), nCols).countRecords();
+    }
+
+    // blank lines are empty values in one-column files and skipped otherwise, as in CsvReader
+    private ByteCsvTokenizer tokenizer(ByteBuffer buffer, int start, int end, int nCols) {
+        return new ByteCsvTokenizer(buffer, start, end, delimiter).keepBlankLines(nCols == 1);
+    }
+
+    private RangeResult parseRange(Range range, List<String> headers, ColumnType[] types, boolean[] strict,
+                                   Object[] storage) {
+        int nCols = types.length;
+        RangeResult result = new RangeResult(nCols);
+        ByteCsvTokenizer tokenizer = tokenizer(range.buffer, 0, range.buffer.limit(), nCols);
+        NumberParser numbers = new NumberParser();
+
+        int row = range.rowStart;
+        while (tokenizer.next()) {
+            int fields = tokenizer.fieldCount();
+            byte[] bytes = tokenizer.bytes();
+            for (int j = 0; j < nCols; j++) {
+                if (storage[j] == null || result.conflict[j]) continue;
+                int length = j < fields ? tokenizer.length(j) : 0;
+                if (length == 0) {
+                    if (types[j] == ColumnType.STRING) {
+                        ((int[]) storage[j])[row] = StringColumn.NULL_CODE;
+                    } else {
+                        result.addNull(j, row);
+                    }
+                    continue;
+                }
+                if (types[j] == ColumnType.STRING) {
+                    ((int[]) storage[j])[row] = result.dictionary(j).getOrAdd(tokenizer.getString(j));
+                    continue;
+                }
+                int kind = numbers.parse(bytes, tokenizer.start(j), length);
+                boolean stored = switch (types[j]) {
+                    case INT -> {
+                        if (kind != NumberParser.INT) yield false;
+                        ((int[]) storage[j])[row] = (int) numbers.longValue;
+                        yield true;
+                    }
+                    case LONG -> {
+                        if (kind != NumberParser.INT && kind != NumberParser.LONG) yield false;
+                        ((long[]) storage[j])[row] = numbers.longValue;
+                        yield true;
+                    }
+                    default -> {
+                        if (kind == NumberParser.NOT_A_NUMBER) yield false;
+                        ((double[]) storage[j])[row] = kind == NumberParser.DOUBLE ? numbers.doubleValue : numbers.longValue;
+                        yield true;
+                    }
+                };
+                if (!stored) {
+                    if (strict[j]) {
+                        throw new IllegalArgumentException("Column " + headers.get(j) + ": cannot parse '"
+                                + tokenizer.getString(j) + "' as " + types[j]);
+                    }
+                    result.conflict[j] = true;
+                }
+            }
+            row++;
+        }
+        if (row - range.rowStart != range.rowCount) {
+            throw new IllegalStateException("Range parsed " + (row - range.rowStart) + " rows but "
+                    + range.rowCount + " were counted");
+        }
+        return result;
+    }
+
+    private static long[] mergeNulls(int column, List<RangeResult> results, int totalRows) {
+        long[] nulls = null;
+        for (RangeResult result : results) {
+            int[] rows = result.nullRows[column];
+            if (rows == null) continue;
+            if (nulls == null) nulls = NullMask.create(totalRows);
+            for (int k = 0; k < result.nullCounts[column]; k++) {
+                NullMask.set(nulls, rows[k]);
+            }
+        }
+        return nulls;
+    }
+
+    // builds the global dictionary and rewrites each range's local codes in place
+    private StringColumn mergeStrings(int column, int[] codes, List<Range> ranges, List<RangeResult> results,
+                                      int totalRows, ExecutorService pool) {
+        StringDictionary global = new StringDictionary();
+        List<Callable<Integer>> remaps = new ArrayList<>();
+        for (int k = 0; k < ranges.size(); k++) {
+            StringDictionary local = results.get(k).dictionaries[column];
+            if (local == null) continue;
+            int[] remap = new int[local.size()];
+            boolean identity = true;
+            for (int code = 0; code < remap.length; code++) {
+                remap[code] = global.getOrAdd(local.value(code));
+                identity &= remap[code] == code;
+            }
+            if (identity) continue;
+            int from = ranges.get(k).rowStart;
+            int to = k + 1 < ranges.size() ? ranges.get(k + 1).rowStart : totalRows;
+            remaps.add(() -> {
+                for (int r = from; r < to; r++) {
+                    if (codes[r] != StringColumn.NULL_CODE) codes[r] = remap[codes[r]];
+                }
+                return to - from;
+            });
+        }
+        invokeAll(pool, remaps);
+        return new StringColumn(codes, global.toArray(), totalRows);
+    }
+
+    private void reparseConflicts(List<Range> ranges, List<String> headers, ColumnType[] types, boolean[] strict,
+                                  boolean[] conflict, Column[] columns, int totalRows) {
+        int nCols = columns.length;
+        ColumnBuilder[] builders = new ColumnBuilder[nCols];
+        boolean any = false;
+        for (int j = 0; j < nCols; j++) {
+            if (conflict[j]) {
+                builders[j] = new ColumnBuilder(types[j], totalRows);
+                any = true;
+            }
+        }
+        if (!any) return;
+
+        NumberParser numbers = new NumberParser();
+        for (Range range : ranges) {
+            ByteCsvTokenizer tokenizer = tokenizer(range.buffer, 0, range.buffer.limit(), nCols);
+            while (tokenizer.next()) {
+                for (int j = 0; j < nCols; j++) {
+                    if (builders[j] != null) {
+                        CsvFields.appendTyped(tokenizer, j, builders[j], types[j], strict[j], headers.get(j), numbers);
+                    }
+                }
+            }
+        }
+        for (int j = 0; j < nCols; j++) {
+            if (builders[j] != null) columns[j] = builders[j].build();
+        }
+    }
+
+    private static <T> List<T> invokeAll(ExecutorService pool, List<Callable<T>> tasks) {
+        try {
+            List<T> results = new ArrayList<>(tasks.size());
+            for (Future<T> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("CSV ingestion interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static class Range {
+        final MappedByteBuffer buffer;
+        int rowStart;
+        int rowCount;
+
+        Range(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+
+    // per-range side results: null rows, local string dictionaries and type conflicts
+    private static class RangeResult {
+        final boolean[] conflict;
+        final int[][] nullRows;
+        final int[] nullCounts;
+        final StringDictionary[] dictionaries;
+
+        RangeResult(int nCols) {
+            conflict = new boolean[nCols];
+            nullRows = new int[nCols][];
+            nullCounts = new int[nCols];
+            dictionaries = new StringDictionary[nCols];
+        }
+
+        void addNull(int column, int row) {
+            int[] rows = nullRows[column];
+            if (rows == null) {
+                rows = nullRows[column] = new int[16];
+            } else if (nullCounts[column] == rows.length) {
+                rows = nullRows[column] = Arrays.copyOf(rows, rows.length * 2);
+            }
+            rows[nullCounts[column]++] = row;
+        }
+
+        StringDictionary dictionary(int column) {
+            if (dictionaries[column] == null) dictionaries[column] = new StringDictionary();
+            return dictionaries[column];
+        }
+    }
+}
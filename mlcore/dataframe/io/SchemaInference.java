@@ -0,0 +1,80 @@
+package mlcore.dataframe.io;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import mlcore.dataframe.columns.ColumnType;
+import mlcore.dataframe.columns.Schema;
+
+/**
+ * Infers a {@link Schema} from the first rows of a file.
+ *
+ * Per column, the narrowest type that fits every non-empty sampled value wins:
+ * INT, then LONG, then DOUBLE; columns of only true/false become BOOLEAN and
+ * anything containing text becomes STRING.
+ */
+public final class SchemaInference {
+
+    public static final int DEFAULT_SAMPLE_ROWS = 1000;
+
+    private SchemaInference() {
+    }
+
+    public static Schema inferCSV(String filePath, String delimiter) throws IOException {
+        return inferCSV(filePath, delimiter, DEFAULT_SAMPLE_ROWS);
+    }
+
+    public static Schema inferCSV(String filePath, String delimiter, int sampleRows) throws IOException {
+        try (CsvTokenizer tokenizer = new CsvTokenizer(
+                new InputStreamReader(new FileInputStream(filePath), StandardCharsets.UTF_8),
+                CsvReader.resolveDelimiter(delimiter))) {
+            Schema schema = new Schema();
+            if (!tokenizer.next()) return schema;
+
+            List<String> headers = new ArrayList<>();
+            for (int i = 0; i < tokenizer.fieldCount(); i++) {
+                headers.add(tokenizer.getString(i));
+            }
+            tokenizer.keepBlankLines(headers.size() == 1);
+            TypeSniffer[] sniffers = new TypeSniffer[headers.size()];
+            for (int j = 0; j < sniffers.length; j++) sniffers[j] = new TypeSniffer();
+
+            NumberParser numbers = new NumberParser();
+            for (int row = 0; row < sampleRows && tokenizer.next(); row++) {
+                for (int j = 0; j < sniffers.length; j++) {
+                    sniffers[j].observe(tokenizer, j, numbers);
+                }
+            }
+            for (int j = 0; j < sniffers.length; j++) {
+                schema.add(headers.get(j), sniffers[j].result());
+            }
+            return schema;
+        }
+    }
+
+    // column types for the given headers: user-declared types first, inferred types for the rest
+    static ColumnType[] resolve(List<String> headers, Schema declared, Schema inferred) {
+        ColumnType[] types = new ColumnType[headers.size()];
+        for (int j = 0; j < types.length; j++) {
+            String name = headers.get(j);
+            if (declared != null && declared.contains(name)) {
+                types[j] = declared.getType(name);
+            } else if (inferred != null) {
+                types[j] = inferred.getType(name);
+            }
+        }
+        return types;
+    }
+
+    static boolean covers(Schema declared, List<String> headers) {
+        if (declared == null) return false;
+        for (String header : headers) {
+            if (!declared.contains(header)) return false;
+        }
+        return true;
+    }
+}
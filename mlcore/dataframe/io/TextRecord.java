@@ -0,0 +1,32 @@
+package mlcore.dataframe.io;
+
+// a single text value exposed as a one-field record, so non-CSV readers can reuse CsvFields
+final class TextRecord implements CsvRecord {
+
+    private String text;
+
+    TextRecord set(String text) {
+        this.text = text;
+        return this;
+    }
+
+    @Override
+    public int fieldCount() {
+        return 1;
+    }
+
+    @Override
+    public int length(int field) {
+        return text.length();
+    }
+
+    @Override
+    public String getString(int field) {
+        return text;
+    }
+
+    @Override
+    public int parseNumber(int field, NumberParser numbers) {
+        return numbers.parse(text);
+    }
+}
@@ -0,0 +1,39 @@
+package mlcore.dataframe.io;
+
+import mlcore.dataframe.columns.ColumnType;
+
+// accumulates the kinds of values seen in one column of a sample and picks a single type
+class TypeSniffer {
+
+    private boolean ints;
+    private boolean longs;
+    private boolean doubles;
+    private boolean booleans;
+    private boolean text;
+
+    void observe(CsvRecord record, int field, NumberParser numbers) {
+        if (text || field >= record.fieldCount() || record.length(field) == 0) return;
+        switch (record.parseNumber(field, numbers)) {
+            case NumberParser.INT -> ints = true;
+            case NumberParser.LONG -> longs = true;
+            case NumberParser.DOUBLE -> doubles = true;
+            default -> {
+                if (CsvFields.parseBoolean(record.getString(field)) != null) {
+                    booleans = true;
+                } else {
+                    text = true;
+                }
+            }
+        }
+    }
+
+    ColumnType result() {
+        boolean numeric = ints || longs || doubles;
+        if (text || (booleans && numeric)) return ColumnType.STRING;
+        if (booleans) return ColumnType.BOOLEAN;
+        if (doubles) return ColumnType.DOUBLE;
+        if (longs) return ColumnType.LONG;
+        if (ints) return ColumnType.INT;
+        return ColumnType.STRING; // no values in the sample
+    }
+}
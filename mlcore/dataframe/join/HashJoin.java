@@ -0,0 +1,152 @@
+package mlcore.dataframe.join;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.columns.Column;
+import mlcore.dataframe.columns.IndexedColumn;
+import mlcore.dataframe.hash.KeyTable;
+import mlcore.dataframe.hash.RowKeys;
+
+/**
+ * Equi-join of two DataFrames on one or more key columns present in both.
+ *
+ * The right frame is the build side: its keys go into a {@link KeyTable} and the rows
+ * of every key are chained in their original order. The left frame is then probed in
+ * blocks, in parallel for large frames, with its keys translated into the right side's
+ * encoding (string dictionaries are mapped once, not per row). The result keeps the
+ * left row order and is made of {@link IndexedColumn} views over both inputs.
+ *
+ * Rows with a missing key never match. Key columns appear once, taken from the left;
+ * other right columns whose names clash with a left column get the suffix
+ * {@code _right}.
+ */
+public final class HashJoin {
+
+    private static final int BLOCK_ROWS = 1 << 16;
+
+    private HashJoin() {
+    }
+
+    public static DataFrame join(DataFrame left, DataFrame right, List<String> keys, JoinType type) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("At least one key column is required");
+        }
+        List<Column> leftKeys = new ArrayList<>();
+        List<Column> rightKeys = new ArrayList<>();
+        for (String key : keys) {
+            if (!left.getData().containsKey(key) || !right.getData().containsKey(key)) {
+                throw new IllegalArgumentException("Key column " + key + " must exist in both DataFrames");
+            }
+            leftKeys.add(left.column(key));
+            rightKeys.add(right.column(key));
+        }
+
+        // build: key -> first right row, next[row] -> following right row with the same key
+        RowKeys buildKeys = new RowKeys(rightKeys);
+        int rightRows = right.getCountRows();
+        KeyTable table = new KeyTable(keys.size(), Math.max(16, rightRows / 4));
+        int[] head = new int[16];
+        int[] next = new int[rightRows];
+        long[] key = new long[keys.size()];
+        for (int r = rightRows - 1; r >= 0; r--) {
+            // prepending in reverse leaves every chain in row order
+            int nulls = buildKeys.encode(r, key);
+            if (nulls != 0) continue;
+            int before = table.size();
+            int id = table.getOrAdd(key, 0);
+            if (id == before) {
+                if (id == head.length) head = Arrays.copyOf(head, head.length * 2);
+                head[id] = -1;
+            }
+            next[r] = head[id];
+            head[id] = r;
+        }
+
+        RowKeys probeKeys = buildKeys.translate(leftKeys);
+        int leftRows = left.getCountRows();
+        int blocks = Math.max(1, (leftRows + BLOCK_ROWS - 1) / BLOCK_ROWS);
+        int[][] leftParts = new int[blocks][];
+        int[][] rightParts = new int[blocks][];
+        int[] chains = head;
+        IntStream tasks = IntStream.range(0, blocks);
+        (blocks > 1 ? tasks.parallel() : tasks).forEach(b -> {
+            int from = b * BLOCK_ROWS;
+            int to = Math.min(leftRows, from + BLOCK_ROWS);
+            Matches matches = new Matches(to - from);
+            long[] probe = new long[keys.size()];
+            for (int i = from; i < to; i++) {
+                int nulls = probeKeys.encode(i, probe);
+                int id = nulls == 0 ? table.get(probe, 0) : -1;
+                if (id < 0) {
+                    if (type == JoinType.LEFT) matches.add(i, -1);
+                } else if (type == JoinType.SEMI) {
+                    matches.add(i, -1);
+                } else {
+                    for (int r = chains[id]; r >= 0; r = next[r]) {
+                        matches.add(i, r);
+                    }
+                }
+            }
+            leftParts[b] = Arrays.copyOf(matches.left, matches.size);
+            rightParts[b] = Arrays.copyOf(matches.right, matches.size);
+        });
+        int[] leftIndex = concat(leftParts);
+
+        Map<String, List<Object>> out = new LinkedHashMap<>();
+        for (String col : left.getData().keySet()) {
+            out.put(col, IndexedColumn.of(left.column(col), leftIndex));
+        }
+        if (type != JoinType.SEMI) {
+            int[] rightIndex = concat(rightParts);
+            for (String col : right.getData().keySet()) {
+                if (keys.contains(col)) continue;
+                String name = out.containsKey(col) ? col + "_right" : col;
+                if (out.containsKey(name)) {
+                    throw new IllegalArgumentException("Duplicate column: " + name);
+                }
+                out.put(name, IndexedColumn.of(right.column(col), rightIndex));
+            }
+        }
+        return new DataFrame(out);
+    }
+
+    private static int[] concat(int[][] parts) {
+        int total = 0;
+        for (int[] part : parts) total += part.length;
+        int[] all = new int[total];
+        int at = 0;
+        for (int[] part : parts) {
+            System.arraycopy(part, 0, all, at, part.length);
+            at += part.length;
+        }
+        return all;
+    }
+
+    // growable pairs of matched row indices for one probe block
+    private static final class Matches {
+        int[] left;
+        int[] right;
+        int size;
+
+        Matches(int capacity) {
+            left = new int[Math.max(16, capacity)];
+            right = new int[left.length];
+        }
+
+        void add(int l, int r) {
+            if (size == left.length) {
+                left = Arrays.copyOf(left, size * 2);
+                right = Arrays.copyOf(right, size * 2);
+            }
+            left[size] = l;
+            right[size] = r;
+            size++;
+        }
+    }
+}
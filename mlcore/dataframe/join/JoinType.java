@@ -0,0 +1,10 @@
+package mlcore.dataframe.join;
+
+public enum JoinType {
+    // pairs of left and right rows with equal keys
+    INNER,
+    // every left row, with missing right columns when it has no match
+    LEFT,
+    // left rows that have at least one match, left columns only
+    SEMI
+}
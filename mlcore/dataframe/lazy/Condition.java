@@ -0,0 +1,192 @@
+package mlcore.dataframe.lazy;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import mlcore.dataframe.columns.Column;
+
+/**
+ * Row predicate built from {@link Expr} comparisons, used by {@link LazyFrame#filter}.
+ * Comparisons involving a missing value are false.
+ */
+public abstract class Condition {
+
+    Condition() {
+    }
+
+    public Condition and(Condition other) {
+        return new And(this, other);
+    }
+
+    public Condition or(Condition other) {
+        return new Or(this, other);
+    }
+
+    public Condition negate() {
+        return new Not(this);
+    }
+
+    abstract boolean test(int row);
+
+    abstract Condition substitute(Map<String, Expr> definitions);
+
+    abstract Condition bind(Function<String, Column> columns);
+
+    static final class Compare extends Condition {
+        private final String op;
+        private final Expr left;
+        private final Expr right;
+
+        Compare(String op, Expr left, Expr right) {
+            this.op = op;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        boolean test(int row) {
+            double a = left.eval(row);
+            double b = right.eval(row);
+            if (Double.isNaN(a) || Double.isNaN(b)) return false;
+            return switch (op) {
+                case ">" -> a > b;
+                case ">=" -> a >= b;
+                case "<" -> a < b;
+                case "<=" -> a <= b;
+                case "==" -> a == b;
+                default -> a != b;
+            };
+        }
+
+        @Override
+        Condition substitute(Map<String, Expr> definitions) {
+            return new Compare(op, left.substitute(definitions), right.substitute(definitions));
+        }
+
+        @Override
+        Condition bind(Function<String, Column> columns) {
+            return new Compare(op, left.bind(columns), right.bind(columns));
+        }
+
+        @Override
+        public String toString() {
+            return left + " " + op + " " + right;
+        }
+    }
+
+    static final class IsNull extends Condition {
+        private final Expr input;
+
+        IsNull(Expr input) {
+            this.input = input;
+        }
+
+        @Override
+        boolean test(int row) {
+            return input.isNullAt(row);
+        }
+
+        @Override
+        Condition substitute(Map<String, Expr> definitions) {
+            return new IsNull(input.substitute(definitions));
+        }
+
+        @Override
+        Condition bind(Function<String, Column> columns) {
+            return new IsNull(input.bindForNullTest(columns));
+        }
+
+        @Override
+        public String toString() {
+            return input + " is null";
+        }
+    }
+
+    static final class And extends Condition {
+        private final Condition left;
+        private final Condition right;
+
+        And(Condition left, Condition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        boolean test(int row) {
+            return left.test(row) && right.test(row);
+        }
+
+        @Override
+        Condition substitute(Map<String, Expr> definitions) {
+            return new And(left.substitute(definitions), right.substitute(definitions));
+        }
+
+        @Override
+        Condition bind(Function<String, Column> columns) {
+            return new And(left.bind(columns), right.bind(columns));
+        }
+
+        @Override
+        public String toString() {
+            return "(" + left + " and " + right + ")";
+        }
+    }
+
+    static final class Or extends Condition {
+        private final Condition left;
+        private final Condition right;
+
+        Or(Condition left, Condition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        boolean test(int row) {
+            return left.test(row) || right.test(row);
+        }
+
+        @Override
+        Condition substitute(Map<String, Expr> definitions) {
+            return new Or(left.substitute(definitions), right.substitute(definitions));
+        }
+
+        @Override
+        Condition bind(Function<String, Column> columns) {
+            return new Or(left.bind(columns), right.bind(columns));
+        }
+
+        @Override
+        public String toString() {
+            return "(" + left + " or " + right + ")";
+        }
+    }
+
+    static final class Not extends Condition {
+        private final Condition input;
+
+        Not(Condition input) {
+            this.input = input;
+        }
+
+        @Override
+        boolean test(int row) {
+            return !input.test(row);
+        }
+
+        @Override
+        Condition substitute(Map<String, Expr> definitions) {
+            return new Not(input.substitute(definitions));
+        }
+
+        @Override
+        Condition bind(Function<String, Column> columns) {
+            return new Not(input.bind(columns));
+        }
+
+        @Override
+        public String toString() {
+            return "not " + input;
+        }
+    }
+}
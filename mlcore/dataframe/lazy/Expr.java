@@ -0,0 +1,347 @@
+package mlcore.dataframe.lazy;
+
+import java.util.Map;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+
+import mlcore.dataframe.columns.Column;
+import mlcore.dataframe.columns.ColumnType;
+
+/**
+ * Numeric expression over the columns of a row, used by {@link LazyFrame}.
+ *
+ * Expressions are immutable trees. Missing values are NaN: they propagate through
+ * arithmetic and can be replaced with {@link #fillNull(double)}.
+ *
+ * <pre>
+ * Expr bmi = Expr.col("weight").dividedBy(Expr.col("height").times(Expr.col("height")));
+ * </pre>
+ */
+public abstract class Expr {
+
+    Expr() {
+    }
+
+    public static Expr col(String name) {
+        return new Ref(name, null);
+    }
+
+    public static Expr lit(double value) {
+        return new Literal(value);
+    }
+
+    public Expr plus(Expr other) {
+        return new Binary("+", Double::sum, this, other);
+    }
+
+    public Expr plus(double value) {
+        return plus(lit(value));
+    }
+
+    public Expr minus(Expr other) {
+        return new Binary("-", (a, b) -> a - b, this, other);
+    }
+
+    public Expr minus(double value) {
+        return minus(lit(value));
+    }
+
+    public Expr times(Expr other) {
+        return new Binary("*", (a, b) -> a * b, this, other);
+    }
+
+    public Expr times(double value) {
+        return times(lit(value));
+    }
+
+    public Expr dividedBy(Expr other) {
+        return new Binary("/", (a, b) -> a / b, this, other);
+    }
+
+    public Expr dividedBy(double value) {
+        return dividedBy(lit(value));
+    }
+
+    // applies fn to every non-missing value
+    public Expr map(DoubleUnaryOperator fn) {
+        return new Unary(fn, this);
+    }
+
+    public Expr fillNull(double value) {
+        return new FillNull(this, value);
+    }
+
+    public Condition gt(Expr other) {
+        return new Condition.Compare(">", this, other);
+    }
+
+    public Condition gt(double value) {
+        return gt(lit(value));
+    }
+
+    public Condition ge(Expr other) {
+        return new Condition.Compare(">=", this, other);
+    }
+
+    public Condition ge(double value) {
+        return ge(lit(value));
+    }
+
+    public Condition lt(Expr other) {
+        return new Condition.Compare("<", this, other);
+    }
+
+    public Condition lt(double value) {
+        return lt(lit(value));
+    }
+
+    public Condition le(Expr other) {
+        return new Condition.Compare("<=", this, other);
+    }
+
+    public Condition le(double value) {
+        return le(lit(value));
+    }
+
+    public Condition eq(Expr other) {
+        return new Condition.Compare("==", this, other);
+    }
+
+    public Condition eq(double value) {
+        return eq(lit(value));
+    }
+
+    public Condition ne(Expr other) {
+        return new Condition.Compare("!=", this, other);
+    }
+
+    public Condition ne(double value) {
+        return ne(lit(value));
+    }
+
+    public Condition isNull() {
+        return new Condition.IsNull(this);
+    }
+
+    public Condition notNull() {
+        return isNull().negate();
+    }
+
+    // value at the given row of the bound columns, NaN when missing
+    abstract double eval(int row);
+
+    boolean isNullAt(int row) {
+        return Double.isNaN(eval(row));
+    }
+
+    // replaces column references by the expressions currently defining those columns
+    abstract Expr substitute(Map<String, Expr> definitions);
+
+    // resolves column references to the columns of the source frame; referenced columns must be numeric
+    abstract Expr bind(Function<String, Column> columns);
+
+    // binding for a null test only, which also accepts STRING and OBJECT column references
+    Expr bindForNullTest(Function<String, Column> columns) {
+        return bind(columns);
+    }
+
+    // name of the referenced column when this expression is a plain column reference
+    String columnName() {
+        return null;
+    }
+
+    static final class Ref extends Expr {
+        private final String name;
+        private final Column column;
+
+        Ref(String name, Column column) {
+            this.name = name;
+            this.column = column;
+        }
+
+        @Override
+        double eval(int row) {
+            if (column == null) {
+                throw new IllegalStateException("Column reference " + name + " is not bound");
+            }
+            return column.getDouble(row);
+        }
+
+        // reads the null mask, so non-numeric columns can be tested too
+        @Override
+        boolean isNullAt(int row) {
+            if (column == null) {
+                throw new IllegalStateException("Column reference " + name + " is not bound");
+            }
+            return column.isNull(row);
+        }
+
+        @Override
+        Expr substitute(Map<String, Expr> definitions) {
+            Expr definition = definitions.get(name);
+            if (definition == null) {
+                throw new IllegalArgumentException("Column " + name + " not found");
+            }
+            return definition;
+        }
+
+        @Override
+        Expr bind(Function<String, Column> columns) {
+            Column bound = resolve(columns);
+            // eval reads getDouble, which STRING and OBJECT columns can only provide by parsing
+            if (!bound.type().isNumeric() && bound.type() != ColumnType.BOOLEAN) {
+                throw new IllegalArgumentException("Column " + name + " is " + bound.type()
+                        + ", expressions need a numeric column");
+            }
+            return new Ref(name, bound);
+        }
+
+        @Override
+        Expr bindForNullTest(Function<String, Column> columns) {
+            return new Ref(name, resolve(columns));
+        }
+
+        private Column resolve(Function<String, Column> columns) {
+            Column bound = columns.apply(name);
+            if (bound == null) {
+                throw new IllegalArgumentException("Column " + name + " not found");
+            }
+            return bound;
+        }
+
+        @Override
+        String columnName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    static final class Literal extends Expr {
+        private final double value;
+
+        Literal(double value) {
+            this.value = value;
+        }
+
+        @Override
+        double eval(int row) {
+            return value;
+        }
+
+        @Override
+        Expr substitute(Map<String, Expr> definitions) {
+            return this;
+        }
+
+        @Override
+        Expr bind(Function<String, Column> columns) {
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return Double.toString(value);
+        }
+    }
+
+    static final class Binary extends Expr {
+        private final String symbol;
+        private final DoubleBinaryOperator op;
+        private final Expr left;
+        private final Expr right;
+
+        Binary(String symbol, DoubleBinaryOperator op, Expr left, Expr right) {
+            this.symbol = symbol;
+            this.op = op;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        double eval(int row) {
+            return op.applyAsDouble(left.eval(row), right.eval(row));
+        }
+
+        @Override
+        Expr substitute(Map<String, Expr> definitions) {
+            return new Binary(symbol, op, left.substitute(definitions), right.substitute(definitions));
+        }
+
+        @Override
+        Expr bind(Function<String, Column> columns) {
+            return new Binary(symbol, op, left.bind(columns), right.bind(columns));
+        }
+
+        @Override
+        public String toString() {
+            return "(" + left + " " + symbol + " " + right + ")";
+        }
+    }
+
+    static final class Unary extends Expr {
+        private final DoubleUnaryOperator fn;
+        private final Expr input;
+
+        Unary(DoubleUnaryOperator fn, Expr input) {
+            this.fn = fn;
+            this.input = input;
+        }
+
+        @Override
+        double eval(int row) {
+            double x = input.eval(row);
+            return Double.isNaN(x) ? x : fn.applyAsDouble(x);
+        }
+
+        @Override
+        Expr substitute(Map<String, Expr> definitions) {
+            return new Unary(fn, input.substitute(definitions));
+        }
+
+        @Override
+        Expr bind(Function<String, Column> columns) {
+            return new Unary(fn, input.bind(columns));
+        }
+
+        @Override
+        public String toString() {
+            return "f(" + input + ")";
+        }
+    }
+
+    static final class FillNull extends Expr {
+        private final Expr input;
+        private final double value;
+
+        FillNull(Expr input, double value) {
+            this.input = input;
+            this.value = value;
+        }
+
+        @Override
+        double eval(int row) {
+            double x = input.eval(row);
+            return Double.isNaN(x) ? value : x;
+        }
+
+        @Override
+        Expr substitute(Map<String, Expr> definitions) {
+            return new FillNull(input.substitute(definitions), value);
+        }
+
+        @Override
+        Expr bind(Function<String, Column> columns) {
+            return new FillNull(input.bind(columns), value);
+        }
+
+        @Override
+        public String toString() {
+            return "fillNull(" + input + ", " + value + ")";
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package mlcore.dataframe.lazy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.columns.Column;
+import mlcore.dataframe.columns.DoubleColumn;
+import mlcore.dataframe.columns.IndexedColumn;
+import mlcore.dataframe.columns.NullMask;
+
+/**
+ * Deferred chain of DataFrame operations that runs only on {@link #collect()}.
+ *
+ * Steps are fused as they are recorded: every output column is kept as one expression
+ * over the source columns (a derive that reads a derived column is substituted into
+ * it), and all filters are merged into a single condition. Collecting therefore makes
+ * one pass to find the surviving rows and one pass per computed column; columns that
+ * are only selected or renamed are returned as views of the source without copying.
+ *
+ * <pre>
+ * DataFrame out = df.lazy()
+ *         .filter(Expr.col("age").ge(18))
+ *         .fillNulls("income", 0.0)
+ *         .transform("income", Math::log1p)
+ *         .derive("ratio", Expr.col("income").dividedBy(Expr.col("age")))
+ *         .select("income", "ratio")
+ *         .collect();
+ * </pre>
+ *
+ * Computed columns are DOUBLE; missing values are NaN while evaluating and null in
+ * the result.
+ */
+public class LazyFrame {
+
+    private static final int BLOCK_ROWS = 1 << 16;
+
+    private final DataFrame source;
+    private final Map<String, Expr> columns;   // output column -> expression over source columns
+    private final Condition filter;            // null when every row is kept
+    private final List<String> steps;
+
+    public LazyFrame(DataFrame source) {
+        this.source = source;
+        this.columns = new LinkedHashMap<>();
+        for (String col : source.getData().keySet()) {
+            columns.put(col, Expr.col(col));
+        }
+        this.filter = null;
+        this.steps = new ArrayList<>();
+    }
+
+    private LazyFrame(LazyFrame previous, Map<String, Expr> columns, Condition filter, String step) {
+        this.source = previous.source;
+        this.columns = columns;
+        this.filter = filter;
+        this.steps = new ArrayList<>(previous.steps);
+        this.steps.add(step);
+    }
+
+    public LazyFrame select(String... names) {
+        return select(Arrays.asList(names));
+    }
+
+    public LazyFrame select(List<String> names) {
+        Map<String, Expr> selected = new LinkedHashMap<>();
+        for (String name : names) {
+            Expr expr = columns.get(name);
+            if (expr == null) {
+                throw new IllegalArgumentException("Column " + name + " not found");
+            }
+            selected.put(name, expr);
+        }
+        return new LazyFrame(this, selected, filter, "select " + names);
+    }
+
+    public LazyFrame drop(String name) {
+        if (!columns.containsKey(name)) {
+            throw new IllegalArgumentException("Column " + name + " not found");
+        }
+        Map<String, Expr> remaining = new LinkedHashMap<>(columns);
+        remaining.remove(name);
+        return new LazyFrame(this, remaining, filter, "drop " + name);
+    }
+
+    // keeps the rows matching the condition; conditions see the columns as defined at this step
+    public LazyFrame filter(Condition condition) {
+        Condition resolved = condition.substitute(columns);
+        Condition merged = filter == null ? resolved : filter.and(resolved);
+        return new LazyFrame(this, columns, merged, "filter " + condition);
+    }
+
+    // adds a column, or replaces it when the name already exists
+    public LazyFrame derive(String name, Expr expr) {
+        Map<String, Expr> derived = new LinkedHashMap<>(columns);
+        derived.put(name, expr.substitute(columns));
+        return new LazyFrame(this, derived, filter, "derive " + name + " = " + expr);
+    }
+
+    // replaces every non-missing value of the column with fn(value)
+    public LazyFrame transform(String name, DoubleUnaryOperator fn) {
+        return derive(name, Expr.col(name).map(fn));
+    }
+
+    public LazyFrame fillNulls(String name, double value) {
+        return derive(name, Expr.col(name).fillNull(value));
+    }
+
+    // recorded steps followed by the fused plan that collect() will run
+    public String explain() {
+        StringBuilder sb = new StringBuilder();
+        for (String step : steps) {
+            sb.append("  ").append(step).append('\n');
+        }
+        sb.append("fused plan:\n");
+        sb.append("  filter: ").append(filter == null ? "none" : filter).append('\n');
+        for (Map.Entry<String, Expr> entry : columns.entrySet()) {
+            sb.append("  ").append(entry.getKey()).append(" = ").append(entry.getValue()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    public DataFrame collect() {
+        Map<String, List<Object>> data = source.getData();
+        Map<String, Column> bound = new HashMap<>();
+        Function<String, Column> resolver = name -> data.containsKey(name)
+                ? bound.computeIfAbsent(name, source::column) : null;
+
+        int[] rows = null; // null means every row
+        int n = source.getCountRows();
+        if (filter != null) {
+            rows = selectRows(filter.bind(resolver), n);
+            n = rows.length;
+        }
+
+        // resolve in order before going parallel, the resolver is not thread-safe
+        String[] names = columns.keySet().toArray(new String[0]);
+        Expr[] exprs = new Expr[names.length];
+        for (int c = 0; c < names.length; c++) {
+            Expr expr = columns.get(names[c]);
+            exprs[c] = expr.columnName() != null ? expr : expr.bind(resolver);
+        }
+
+        // one slot per output column; tasks only set their own slot, the list never changes size
+        List<List<Object>> results = new ArrayList<>(Collections.nCopies(names.length, null));
+        int[] selection = rows;
+        int count = n;
+        IntStream tasks = IntStream.range(0, names.length);
+        (count >= BLOCK_ROWS ? tasks.parallel() : tasks).forEach(c -> {
+            String ref = exprs[c].columnName();
+            results.set(c, ref != null ? gather(data.get(ref), selection) : evaluate(exprs[c], selection, count));
+        });
+
+        Map<String, List<Object>> out = new LinkedHashMap<>();
+        for (int c = 0; c < names.length; c++) {
+            out.put(names[c], results.get(c));
+        }
+        return new DataFrame(out);
+    }
+
+    // one pass over the source, in parallel blocks for large frames
+    private static int[] selectRows(Condition condition, int n) {
+        int blocks = (n + BLOCK_ROWS - 1) / BLOCK_ROWS;
+        int[][] parts = new int[blocks][];
+        IntStream tasks = IntStream.range(0, blocks);
+        (blocks > 1 ? tasks.parallel() : tasks).forEach(b -> {
+            int from = b * BLOCK_ROWS;
+            int to = Math.min(n, from + BLOCK_ROWS);
+            int[] kept = new int[to - from];
+            int k = 0;
+            for (int i = from; i < to; i++) {
+                if (condition.test(i)) kept[k++] = i;
+            }
+            parts[b] = Arrays.copyOf(kept, k);
+        });
+        int total = 0;
+        for (int[] part : parts) total += part.length;
+        int[] rows = new int[total];
+        int at = 0;
+        for (int[] part : parts) {
+            System.arraycopy(part, 0, rows, at, part.length);
+            at += part.length;
+        }
+        return rows;
+    }
+
+    // unchanged source columns are shared, or viewed through the selected rows
+    private static List<Object> gather(List<Object> values, int[] rows) {
+        if (rows == null) {
+            return values;
+        }
+        if (values instanceof Column) {
+            return IndexedColumn.of((Column) values, rows);
+        }
+        List<Object> copy = new ArrayList<>(rows.length);
+        for (int r : rows) {
+            copy.add(values.get(r));
+        }
+        return copy;
+    }
+
+    private static Column evaluate(Expr expr, int[] rows, int n) {
+        double[] values = new double[n];
+        long[] nulls = null;
+        for (int k = 0; k < n; k++) {
+            double v = expr.eval(rows == null ? k : rows[k]);
+            if (Double.isNaN(v)) {
+                if (nulls == null) nulls = NullMask.create(n);
+                NullMask.set(nulls, k);
+            }
+            values[k] = v;
+        }
+        return new DoubleColumn(values, nulls, n);
+    }
+}
@@ -0,0 +1,56 @@
+package mlcore.dataframe.sort;
+
+/**
+ * One key of a multi-column sort: the column, its direction and where its missing
+ * values go. Missing values are placed last unless {@link #nullsFirst()} is used,
+ * whatever the direction.
+ *
+ * <pre>
+ * df.sortBy(SortKey.asc("country"), SortKey.desc("revenue").nullsFirst());
+ * </pre>
+ */
+public final class SortKey {
+
+    private final String column;
+    private final boolean ascending;
+    private final boolean nullsFirst;
+
+    private SortKey(String column, boolean ascending, boolean nullsFirst) {
+        this.column = column;
+        this.ascending = ascending;
+        this.nullsFirst = nullsFirst;
+    }
+
+    public static SortKey asc(String column) {
+        return new SortKey(column, true, false);
+    }
+
+    public static SortKey desc(String column) {
+        return new SortKey(column, false, false);
+    }
+
+    public SortKey nullsFirst() {
+        return new SortKey(column, ascending, true);
+    }
+
+    public SortKey nullsLast() {
+        return new SortKey(column, ascending, false);
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    public boolean isNullsFirst() {
+        return nullsFirst;
+    }
+
+    @Override
+    public String toString() {
+        return column + (ascending ? " asc" : " desc") + (nullsFirst ? " nulls first" : " nulls last");
+    }
+}
@@ -0,0 +1,368 @@
+package mlcore.dataframe.sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.columns.Column;
+import mlcore.dataframe.columns.ColumnType;
+import mlcore.dataframe.columns.NullMask;
+
+/**
+ * Computes the row order of a DataFrame sorted by one or more {@link SortKey}s.
+ *
+ * Rows are sorted as a primitive int[] of indices against primitive key arrays, never as
+ * boxed values. INT, LONG and BOOLEAN keys are mapped to unsigned longs, STRING keys to
+ * the rank of their dictionary code and OBJECT keys to the rank of their distinct values;
+ * when every key is of this kind the rows are sorted with a stable LSD radix sort, one
+ * key at a time from the last. DOUBLE keys are compared directly with a dual-pivot
+ * quicksort, using the row index as a final tie-break so that the result is stable.
+ *
+ * Above {@code PARALLEL_ROWS} rows, contiguous ranges are sorted in parallel with the
+ * same kernels and then merged pairwise in parallel.
+ */
+public final class Sorter {
+
+    private static final int PARALLEL_ROWS = 1 << 17;
+    private static final int INSERTION_SORT_SIZE = 24;
+
+    private Sorter() {
+    }
+
+    // row indices in sorted order; rows with equal keys keep their original order
+    public static int[] order(DataFrame df, List<SortKey> keys) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("At least one sort key is required");
+        }
+        int n = df.getCountRows();
+        Key[] compiled = new Key[keys.size()];
+        boolean radix = true;
+        for (int j = 0; j < compiled.length; j++) {
+            compiled[j] = new Key(df.column(keys.get(j).getColumn()), keys.get(j));
+            radix &= compiled[j].encoded != null;
+        }
+
+        int[] rows = new int[n];
+        for (int i = 0; i < n; i++) {
+            rows[i] = i;
+        }
+        int chunks = n < PARALLEL_ROWS ? 1 : Math.max(2, Math.min(ForkJoinPool.getCommonPoolParallelism() * 2, n / (PARALLEL_ROWS / 4)));
+        int[] bounds = new int[chunks + 1];
+        for (int c = 0; c <= chunks; c++) {
+            bounds[c] = (int) ((long) n * c / chunks);
+        }
+        boolean useRadix = radix;
+        IntStream tasks = IntStream.range(0, chunks);
+        (chunks > 1 ? tasks.parallel() : tasks).forEach(c -> {
+            if (useRadix) {
+                radixSort(rows, bounds[c], bounds[c + 1], compiled);
+            } else {
+                quickSort(rows, bounds[c], bounds[c + 1] - 1, compiled);
+            }
+        });
+        if (chunks > 1) {
+            mergeRuns(rows, bounds, compiled);
+        }
+        return rows;
+    }
+
+    // a sort key resolved to primitive arrays indexed by row
+    private static final class Key {
+        final long[] nulls;        // null when the column has no missing values
+        final boolean nullsFirst;
+        final boolean ascending;
+        final long[] encoded;      // unsigned order with the direction applied; null for DOUBLE keys
+        final double[] doubles;    // DOUBLE keys only
+
+        Key(Column column, SortKey key) {
+            int n = column.size();
+            long[] mask = NullMask.create(n);
+            column.nullMask(mask);
+            this.nulls = NullMask.count(mask, n) > 0 ? mask : null;
+            this.nullsFirst = key.isNullsFirst();
+            this.ascending = key.isAscending();
+            if (column.type() == ColumnType.DOUBLE) {
+                this.doubles = new double[n];
+                column.fillDoubles(0, n, doubles, 0, 1, 0.0);
+                this.encoded = null;
+                return;
+            }
+            this.doubles = null;
+            this.encoded = new long[n];
+            long[] ranks = column.type() == ColumnType.STRING ? dictionaryRanks(column)
+                    : column.type() == ColumnType.OBJECT ? objectRanks(column) : null;
+            for (int i = 0; i < n; i++) {
+                if (column.isNull(i)) continue;
+                long v = switch (column.type()) {
+                    // flipping the sign bit turns signed order into unsigned order
+                    case INT -> column.getInt(i) ^ Long.MIN_VALUE;
+                    case LONG -> column.getLong(i) ^ Long.MIN_VALUE;
+                    case BOOLEAN -> column.getBoolean(i) ? 1L : 0L;
+                    case STRING -> ranks[column.getCode(i)];
+                    default -> ranks[i];
+                };
+                encoded[i] = ascending ? v : ~v;
+            }
+        }
+
+        int compare(int a, int b) {
+            if (nulls != null) {
+                boolean na = NullMask.isSet(nulls, a);
+                boolean nb = NullMask.isSet(nulls, b);
+                if (na || nb) {
+                    if (na == nb) return 0;
+                    return na == nullsFirst ? -1 : 1;
+                }
+            }
+            if (encoded != null) {
+                return Long.compareUnsigned(encoded[a], encoded[b]);
+            }
+            return ascending ? Double.compare(doubles[a], doubles[b]) : Double.compare(doubles[b], doubles[a]);
+        }
+    }
+
+    // rank of every dictionary entry, indexed by code
+    private static long[] dictionaryRanks(Column column) {
+        int size = column.dictionarySize();
+        Integer[] codes = new Integer[size];
+        for (int c = 0; c < size; c++) codes[c] = c;
+        Arrays.sort(codes, Comparator.comparing(column::dictionaryValue));
+        long[] ranks = new long[size];
+        for (int r = 0; r < size; r++) ranks[codes[r]] = r;
+        return ranks;
+    }
+
+    // rank of every row's value among the distinct values, indexed by row
+    private static long[] objectRanks(Column column) {
+        int n = column.size();
+        Map<Object, Integer> ids = new HashMap<>();
+        List<Object> distinct = new ArrayList<>();
+        int[] rowIds = new int[n];
+        for (int i = 0; i < n; i++) {
+            Object val = column.get(i);
+            if (val == null) continue;
+            Integer id = ids.get(val);
+            if (id == null) {
+                id = distinct.size();
+                ids.put(val, id);
+                distinct.add(val);
+            }
+            rowIds[i] = id;
+        }
+        Integer[] order = new Integer[distinct.size()];
+        for (int d = 0; d < order.length; d++) order[d] = d;
+        Arrays.sort(order, (a, b) -> compareObjects(distinct.get(a), distinct.get(b)));
+        long[] idRanks = new long[order.length];
+        for (int r = 0; r < order.length; r++) idRanks[order[r]] = r;
+        long[] ranks = new long[n];
+        for (int i = 0; i < n; i++) ranks[i] = idRanks[rowIds[i]];
+        return ranks;
+    }
+
+    // numbers by value, other comparable values of one class by their natural order
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareObjects(Object a, Object b) {
+        if (a instanceof Number && b instanceof Number) {
+            return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+        }
+        if (a instanceof Comparable && a.getClass() == b.getClass()) {
+            return ((Comparable) a).compareTo(b);
+        }
+        int byClass = a.getClass().getName().compareTo(b.getClass().getName());
+        return byClass != 0 ? byClass : a.toString().compareTo(b.toString());
+    }
+
+    private static int compare(Key[] keys, int a, int b) {
+        for (Key key : keys) {
+            int c = key.compare(a, b);
+            if (c != 0) return c;
+        }
+        return Integer.compare(a, b);
+    }
+
+    // stable LSD radix sort of rows[from, to), least significant key first
+    private static void radixSort(int[] rows, int from, int to, Key[] keys) {
+        int n = to - from;
+        int[] rowBuffer = new int[n];
+        int[] rowBuffer2 = new int[n];
+        long[] values = new long[n];
+        long[] valueBuffer = new long[n];
+        for (int j = keys.length - 1; j >= 0; j--) {
+            Key key = keys[j];
+            int start = from;
+            int end = to;
+            if (key.nulls != null) {
+                // stable partition of the missing values to the requested end
+                int nonNull = 0;
+                int nullCount = 0;
+                for (int i = from; i < to; i++) {
+                    int row = rows[i];
+                    if (NullMask.isSet(key.nulls, row)) {
+                        rowBuffer[n - 1 - nullCount++] = row;
+                    } else {
+                        rowBuffer[nonNull++] = row;
+                    }
+                }
+                int at = from;
+                if (key.nullsFirst) {
+                    for (int k = 0; k < nullCount; k++) rows[at++] = rowBuffer[n - 1 - k];
+                    start = at;
+                }
+                System.arraycopy(rowBuffer, 0, rows, at, nonNull);
+                at += nonNull;
+                if (!key.nullsFirst) {
+                    end = at;
+                    for (int k = 0; k < nullCount; k++) rows[at++] = rowBuffer[n - 1 - k];
+                }
+            }
+            radixPasses(rows, start, end, key.encoded, rowBuffer, rowBuffer2, values, valueBuffer);
+        }
+    }
+
+    // one counting pass per byte, skipping bytes that are equal in every key
+    private static void radixPasses(int[] rows, int from, int to, long[] encoded,
+                                    int[] rowBuffer, int[] rowBuffer2, long[] values, long[] valueBuffer) {
+        int n = to - from;
+        if (n < 2) return;
+        int[] srcRows = rowBuffer;
+        int[] dstRows = rowBuffer2;
+        long[] src = values;
+        long[] dst = valueBuffer;
+        long differing = 0;
+        long first = encoded[rows[from]];
+        for (int i = 0; i < n; i++) {
+            int row = rows[from + i];
+            srcRows[i] = row;
+            src[i] = encoded[row];
+            differing |= src[i] ^ first;
+        }
+        int[] counts = new int[257];
+        for (int shift = 0; shift < 64; shift += 8) {
+            if (((differing >>> shift) & 0xFF) == 0) continue;
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; i++) {
+                counts[(int) ((src[i] >>> shift) & 0xFF) + 1]++;
+            }
+            for (int b = 0; b < 256; b++) {
+                counts[b + 1] += counts[b];
+            }
+            for (int i = 0; i < n; i++) {
+                int at = counts[(int) ((src[i] >>> shift) & 0xFF)]++;
+                dst[at] = src[i];
+                dstRows[at] = srcRows[i];
+            }
+            long[] swapValues = src;
+            src = dst;
+            dst = swapValues;
+            int[] swapRows = srcRows;
+            srcRows = dstRows;
+            dstRows = swapRows;
+        }
+        System.arraycopy(srcRows, 0, rows, from, n);
+    }
+
+    // dual-pivot quicksort of rows[left, right] (inclusive) by the key comparison
+    private static void quickSort(int[] a, int left, int right, Key[] keys) {
+        while (right - left >= INSERTION_SORT_SIZE) {
+            int third = (right - left) / 3;
+            int m1 = left + third;
+            int m2 = right - third;
+            if (compare(keys, a[m1], a[m2]) > 0) swap(a, m1, m2);
+            swap(a, m1, left);
+            swap(a, m2, right);
+            int p = a[left];
+            int q = a[right];
+
+            // [left+1, lt) < p, [lt, k) between, (gt, right-1] > q
+            int lt = left + 1;
+            int gt = right - 1;
+            int k = lt;
+            while (k <= gt) {
+                if (compare(keys, a[k], p) < 0) {
+                    swap(a, k, lt++);
+                } else if (compare(keys, a[k], q) > 0) {
+                    while (k < gt && compare(keys, a[gt], q) > 0) gt--;
+                    swap(a, k, gt--);
+                    if (compare(keys, a[k], p) < 0) swap(a, k, lt++);
+                }
+                k++;
+            }
+            lt--;
+            gt++;
+            swap(a, left, lt);
+            swap(a, right, gt);
+
+            quickSort(a, left, lt - 1, keys);
+            quickSort(a, lt + 1, gt - 1, keys);
+            left = gt + 1;
+        }
+        insertionSort(a, left, right, keys);
+    }
+
+    private static void insertionSort(int[] a, int left, int right, Key[] keys) {
+        for (int i = left + 1; i <= right; i++) {
+            int x = a[i];
+            int j = i - 1;
+            while (j >= left && compare(keys, a[j], x) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = x;
+        }
+    }
+
+    private static void swap(int[] a, int i, int j) {
+        int t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    // merges the sorted runs between consecutive bounds, pairs of runs in parallel
+    private static void mergeRuns(int[] rows, int[] bounds, Key[] keys) {
+        int[] src = rows;
+        int[] dst = new int[rows.length];
+        int[] runBounds = bounds;
+        int runs = bounds.length - 1;
+        while (runs > 1) {
+            int pairs = (runs + 1) / 2;
+            int[] from = src;
+            int[] to = dst;
+            int[] b = runBounds;
+            int lastRun = runs;
+            IntStream.range(0, pairs).parallel().forEach(p -> {
+                int lo = b[2 * p];
+                int mid = b[Math.min(2 * p + 1, lastRun)];
+                int hi = b[Math.min(2 * p + 2, lastRun)];
+                merge(from, to, lo, mid, hi, keys);
+            });
+            int[] next = new int[pairs + 1];
+            for (int p = 0; p < pairs; p++) next[p] = b[2 * p];
+            next[pairs] = b[runs];
+            runBounds = next;
+            runs = pairs;
+            src = to;
+            dst = from;
+        }
+        if (src != rows) {
+            System.arraycopy(src, 0, rows, 0, rows.length);
+        }
+    }
+
+    private static void merge(int[] src, int[] dst, int lo, int mid, int hi, Key[] keys) {
+        int i = lo;
+        int j = mid;
+        int k = lo;
+        while (i < mid && j < hi) {
+            // ties take the left run first, which keeps the merge stable
+            dst[k++] = compare(keys, src[i], src[j]) <= 0 ? src[i++] : src[j++];
+        }
+        while (i < mid) dst[k++] = src[i++];
+        while (j < hi) dst[k++] = src[j++];
+    }
+}
@@ -11,6 +11,7 @@ import java.util.Set;
 
 
 import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.SparseMatrix;
 
 public class Encoder {
     public DataFrame labelEncoding(DataFrame df, String columnName) {
@@ -132,6 +133,21 @@ public class Encoder {
         return newdf;
     }
 
+    // one-hot features of the columns as a sparse matrix, see OneHotTransformer
+    public SparseMatrix oneHotEncodingSparse(DataFrame df, List<String> columnNames) {
+        return oneHotEncodingSparse(df, columnNames, 0);
+    }
+
+    // keeps the maxCategories most frequent categories per column, the rest go to a column_other feature
+    public SparseMatrix oneHotEncodingSparse(DataFrame df, List<String> columnNames, int maxCategories) {
+        return new OneHotTransformer(columnNames, maxCategories).fit(df).transformSparse(df);
+    }
+
+    // hashed features of the columns in a fixed number of output columns, see FeatureHasher
+    public SparseMatrix hashEncoding(DataFrame df, List<String> columnNames, int numFeatures) {
+        return new FeatureHasher(columnNames, numFeatures).transform(df);
+    }
+
     public DataFrame targetEncoding(DataFrame df, String categoricalColumn, String targetColumn) {
         Map<String, List<Object>> data = new LinkedHashMap<>(df.getData());
 
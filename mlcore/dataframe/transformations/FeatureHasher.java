@@ -0,0 +1,184 @@
+package mlcore.dataframe.transformations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.SparseMatrix;
+import mlcore.dataframe.columns.Column;
+import mlcore.dataframe.columns.ColumnType;
+import mlcore.dataframe.utils.MurmurHash3;
+
+/**
+ * Hashing-trick encoder for categorical columns: the value v of column c becomes the
+ * token {@code "c=v"}, whose seeded MurmurHash3 (over the UTF-8 bytes) picks one of
+ * {@code numFeatures} output columns. With alternating signs the hash also picks +1 or
+ * -1, so colliding tokens tend to cancel instead of adding up.
+ *
+ * Nothing is learned and no category map is kept: any chunk, or a category first seen at
+ * serving time, is encoded the same way in constant memory. Numbers are tokenised by value,
+ * so INT {@code 1}, LONG {@code 1} and DOUBLE {@code 1.0} (and the string {@code "1"}) hash
+ * alike whatever type a chunk's column was inferred as. Nulls produce no feature.
+ *
+ * <pre>
+ * FeatureHasher hasher = new FeatureHasher(List.of("url", "user_agent"), 1 &lt;&lt; 18);
+ * SparseMatrix X = hasher.transform(chunk);
+ * </pre>
+ */
+public class FeatureHasher {
+
+    private static final int PARALLEL_CELLS = 1 << 16;
+    private static final int NO_TOKEN = Integer.MIN_VALUE;   // null rows; tokens hashing to it are moved by one
+
+    private final List<String> columns;
+    private final int numFeatures;
+    private final int seed;
+    private final boolean alternateSign;
+
+    public FeatureHasher(List<String> columns, int numFeatures) {
+        this(columns, numFeatures, 0, true);
+    }
+
+    public FeatureHasher(List<String> columns, int numFeatures, int seed, boolean alternateSign) {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("At least one column is required");
+        }
+        if (numFeatures < 1) {
+            throw new IllegalArgumentException("numFeatures must be positive, got " + numFeatures);
+        }
+        this.columns = new ArrayList<>(columns);
+        this.numFeatures = numFeatures;
+        this.seed = seed;
+        this.alternateSign = alternateSign;
+    }
+
+    // one row per row of df and numFeatures columns; tokens hashed to the same column are summed
+    public SparseMatrix transform(DataFrame df) {
+        Column[] bound = new Column[columns.size()];
+        for (int j = 0; j < bound.length; j++) {
+            bound[j] = df.column(columns.get(j));
+        }
+        int n = df.getCountRows();
+        int[][] hashes = new int[bound.length][];
+        IntStream tasks = IntStream.range(0, bound.length);
+        boolean parallel = bound.length > 1 && (long) n * bound.length >= PARALLEL_CELLS;
+        (parallel ? tasks.parallel() : tasks).forEach(j -> hashes[j] = hashes(bound[j], columns.get(j)));
+
+        long entries = 0;
+        for (Column column : bound) entries += column.size() - column.nullCount();
+        if (entries > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many values (" + entries + ") for one sparse matrix, transform in chunks");
+        }
+        int[] pointers = new int[n + 1];
+        int[] indices = new int[(int) entries];
+        double[] values = new double[indices.length];
+        int at = 0;
+        for (int i = 0; i < n; i++) {
+            int rowStart = at;
+            for (int[] column : hashes) {
+                int h = column[i];
+                if (h == NO_TOKEN) continue;
+                int index = indexOf(h);
+                double sign = signOf(h);
+                // rows hold a few entries, insert in index order and sum collisions
+                int p = at;
+                while (p > rowStart && indices[p - 1] > index) p--;
+                if (p > rowStart && indices[p - 1] == index) {
+                    values[p - 1] += sign;
+                    continue;
+                }
+                System.arraycopy(indices, p, indices, p + 1, at - p);
+                System.arraycopy(values, p, values, p + 1, at - p);
+                indices[p] = index;
+                values[p] = sign;
+                at++;
+            }
+            // drop entries whose signs cancelled out
+            int kept = rowStart;
+            for (int p = rowStart; p < at; p++) {
+                if (values[p] != 0) {
+                    indices[kept] = indices[p];
+                    values[kept++] = values[p];
+                }
+            }
+            at = kept;
+            pointers[i + 1] = at;
+        }
+        return new SparseMatrix(pointers, Arrays.copyOf(indices, at), Arrays.copyOf(values, at), n, numFeatures);
+    }
+
+    // hash of the token of every row
+    private int[] hashes(Column column, String name) {
+        int n = column.size();
+        int[] out = new int[n];
+        if (column.type() == ColumnType.STRING) {
+            // hash every dictionary entry once
+            int[] byCode = new int[column.dictionarySize()];
+            for (int code = 0; code < byCode.length; code++) {
+                byCode[code] = hash(name, column.dictionaryValue(code));
+            }
+            for (int i = 0; i < n; i++) {
+                out[i] = column.isNull(i) ? NO_TOKEN : byCode[column.getCode(i)];
+            }
+            return out;
+        }
+        for (int i = 0; i < n; i++) {
+            Object value = column.get(i);
+            out[i] = value == null ? NO_TOKEN : hash(name, token(value));
+        }
+        return out;
+    }
+
+    // numbers with a whole value print as longs, so a category keeps its token across column types
+    private static String token(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return Long.toString(((Number) value).longValue());
+        }
+        if (value instanceof Number) {
+            double x = ((Number) value).doubleValue();
+            if (x == Math.rint(x) && Math.abs(x) < 0x1p63) return Long.toString((long) x);
+        }
+        return value.toString();
+    }
+
+    private int hash(String column, String value) {
+        int h = MurmurHash3.hash32(column + "=" + value, seed);
+        return h == NO_TOKEN ? h + 1 : h;
+    }
+
+    private int indexOf(int hash) {
+        return Math.floorMod(hash, numFeatures);
+    }
+
+    private double signOf(int hash) {
+        return !alternateSign || hash >= 0 ? 1.0 : -1.0;
+    }
+
+    // output column and sign of a single value, e.g. to inspect which feature a category lands in
+    public int featureIndex(String column, Object value) {
+        return indexOf(hash(column, token(value)));
+    }
+
+    public double featureSign(String column, Object value) {
+        return signOf(hash(column, token(value)));
+    }
+
+    public List<String> getColumns() {
+        return Collections.unmodifiableList(columns);
+    }
+
+    public int getNumFeatures() {
+        return numFeatures;
+    }
+
+    public int getSeed() {
+        return seed;
+    }
+
+    public boolean isAlternateSign() {
+        return alternateSign;
+    }
+}
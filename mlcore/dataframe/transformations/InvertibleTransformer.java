@@ -0,0 +1,15 @@
+package mlcore.dataframe.transformations;
+
+import java.util.List;
+
+import mlcore.dataframe.DataFrame;
+
+// transformer whose output can be mapped back to the original columns with the fitted parameters
+public abstract class InvertibleTransformer extends Transformer {
+
+    protected InvertibleTransformer(List<String> columns) {
+        super(columns);
+    }
+
+    public abstract DataFrame inverseTransform(DataFrame df);
+}
@@ -0,0 +1,130 @@
+package mlcore.dataframe.transformations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.columns.Column;
+import mlcore.dataframe.columns.ColumnBuilder;
+import mlcore.dataframe.columns.ColumnType;
+import mlcore.dataframe.columns.IntColumn;
+import mlcore.dataframe.columns.NullMask;
+
+/**
+ * Fitted counterpart of {@link Encoder#labelEncoding}: labels get codes 0, 1, 2, ... in
+ * order of first appearance in the training data and the column is renamed
+ * {@code column_Encoded}. Labels not seen during fit are encoded as null.
+ */
+public class LabelEncoderTransformer extends InvertibleTransformer {
+
+    private Object[][] labels;                   // per column, label of each code
+    private List<Map<Object, Integer>> codes;    // per column, code of each label
+
+    public LabelEncoderTransformer(List<String> columns) {
+        super(columns);
+    }
+
+    @Override
+    public Transformer fit(DataFrame df) {
+        labels = new Object[columns.size()][];
+        codes = new ArrayList<>();
+        for (int j = 0; j < columns.size(); j++) {
+            Map<Object, Integer> index = new LinkedHashMap<>();
+            for (Object val : df.column(columns.get(j))) {
+                index.putIfAbsent(val, index.size());
+            }
+            labels[j] = index.keySet().toArray();
+            codes.add(new HashMap<>(index));
+        }
+        fitted = true;
+        return this;
+    }
+
+    @Override
+    public DataFrame transform(DataFrame df) {
+        checkFitted();
+        List<String> encodedNames = new ArrayList<>();
+        List<List<Object>> encoded = new ArrayList<>();
+        for (int j = 0; j < columns.size(); j++) {
+            encodedNames.add(columns.get(j) + "_Encoded");
+            encoded.add(encode(df.column(columns.get(j)), codes.get(j)));
+        }
+        return replaceColumns(df, columns, encodedNames, encoded);
+    }
+
+    private static Column encode(Column column, Map<Object, Integer> index) {
+        int n = column.size();
+        int[] values = new int[n];
+        long[] nulls = null;
+        if (column.type() == ColumnType.STRING) {
+            // look up each dictionary entry once, then map the codes
+            int[] byCode = new int[column.dictionarySize()];
+            for (int c = 0; c < byCode.length; c++) {
+                Integer code = index.get(column.dictionaryValue(c));
+                byCode[c] = code == null ? -1 : code;
+            }
+            Integer nullCode = index.get(null);
+            for (int i = 0; i < n; i++) {
+                int code = column.isNull(i) ? (nullCode == null ? -1 : nullCode) : byCode[column.getCode(i)];
+                if (code < 0) {
+                    if (nulls == null) nulls = NullMask.create(n);
+                    NullMask.set(nulls, i);
+                } else {
+                    values[i] = code;
+                }
+            }
+            return new IntColumn(values, nulls, n);
+        }
+        for (int i = 0; i < n; i++) {
+            Integer code = index.get(column.get(i));
+            if (code == null) {
+                if (nulls == null) nulls = NullMask.create(n);
+                NullMask.set(nulls, i);
+            } else {
+                values[i] = code;
+            }
+        }
+        return new IntColumn(values, nulls, n);
+    }
+
+    @Override
+    public DataFrame inverseTransform(DataFrame df) {
+        checkFitted();
+        List<String> encodedNames = new ArrayList<>();
+        List<List<Object>> decoded = new ArrayList<>();
+        for (int j = 0; j < columns.size(); j++) {
+            String name = columns.get(j) + "_Encoded";
+            encodedNames.add(name);
+            Column column = df.column(name);
+            ColumnBuilder builder = new ColumnBuilder(column.size());
+            for (int i = 0; i < column.size(); i++) {
+                if (column.isNull(i)) {
+                    builder.appendNull();
+                    continue;
+                }
+                int code = (int) column.getDouble(i);
+                if (code < 0 || code >= labels[j].length) {
+                    throw new IllegalArgumentException("Code " + code + " is not a label of column " + columns.get(j));
+                }
+                builder.append(labels[j][code]);
+            }
+            decoded.add(builder.build());
+        }
+        return replaceColumns(df, encodedNames, columns, decoded);
+    }
+
+    // labels of a column in code order
+    public List<Object> getLabels(String column) {
+        checkFitted();
+        int j = columns.indexOf(column);
+        if (j < 0) {
+            throw new IllegalArgumentException("Column " + column + " was not fitted");
+        }
+        return Collections.unmodifiableList(Arrays.asList(labels[j]));
+    }
+}
@@ -0,0 +1,45 @@
+package mlcore.dataframe.transformations;
+
+import java.util.List;
+
+import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.utils.StatsUtils;
+
+// fitted counterpart of Scaler.MinMaxScaler: (x - min) / (max - min), with max == min treated as a range of 1
+public class MinMaxTransformer extends ScalingTransformer {
+
+    public MinMaxTransformer(List<String> columns) {
+        super(columns);
+    }
+
+    public MinMaxTransformer(List<String> columns, double[] min, double[] max) {
+        super(columns, min, nonZero(difference(max, min)));
+    }
+
+    private static double[] difference(double[] a, double[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("min and max must have the same length");
+        }
+        double[] d = new double[a.length];
+        for (int j = 0; j < a.length; j++) d[j] = a[j] - b[j];
+        return d;
+    }
+
+    @Override
+    protected void fitColumn(DataFrame df, String column, int j) {
+        StatsUtils st = new StatsUtils();
+        double min = st.minimumValue(df, column);
+        center[j] = min;
+        scale[j] = nonZero(st.maximumValue(df, column) - min);
+    }
+
+    public double[] getMin() {
+        return getCenter();
+    }
+
+    public double[] getMax() {
+        double[] max = getCenter();
+        for (int j = 0; j < max.length; j++) max[j] += scale[j];
+        return max;
+    }
+}
@@ -0,0 +1,95 @@
+package mlcore.dataframe.transformations;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.columns.Column;
+import mlcore.dataframe.columns.ColumnBuilder;
+import mlcore.dataframe.columns.ColumnType;
+import mlcore.dataframe.columns.DoubleColumn;
+import mlcore.dataframe.utils.StatsUtils;
+
+/**
+ * Fitted counterpart of {@link NullHandler#fillNullsWithMeasure}: the "mean", "median" or
+ * "mode" of each column is learned once and used to fill the nulls of every frame
+ * transformed afterwards. Column names are kept.
+ */
+public class NullFillTransformer extends Transformer {
+
+    private final String measure;
+    private Object[] fills;
+
+    public NullFillTransformer(List<String> columns, String measureInLowerCase) {
+        super(columns);
+        if (!"mean".equals(measureInLowerCase) && !"median".equals(measureInLowerCase) && !"mode".equals(measureInLowerCase)) {
+            throw new IllegalArgumentException("Unsupported measure: " + measureInLowerCase);
+        }
+        this.measure = measureInLowerCase;
+    }
+
+    // transformer filling every column with a known value
+    public NullFillTransformer(List<String> columns, Object value) {
+        super(columns);
+        this.measure = null;
+        this.fills = Collections.nCopies(columns.size(), value).toArray();
+        this.fitted = true;
+    }
+
+    @Override
+    public Transformer fit(DataFrame df) {
+        if (measure == null) {
+            return this;
+        }
+        StatsUtils u = new StatsUtils();
+        fills = new Object[columns.size()];
+        for (int j = 0; j < columns.size(); j++) {
+            String col = columns.get(j);
+            fills[j] = switch (measure) {
+                case "mean" -> u.meanColumn(df, col);
+                case "median" -> u.medianColumn(df, col);
+                default -> u.modeColumn(df, col);
+            };
+        }
+        fitted = true;
+        return this;
+    }
+
+    @Override
+    public DataFrame transform(DataFrame df) {
+        checkFitted();
+        List<List<Object>> filled = new ArrayList<>();
+        for (int j = 0; j < columns.size(); j++) {
+            filled.add(fill(df.column(columns.get(j)), fills[j]));
+        }
+        return replaceColumns(df, columns, columns, filled);
+    }
+
+    private static Column fill(Column column, Object value) {
+        int n = column.size();
+        if (column.nullCount() == 0) {
+            return column;
+        }
+        if (column.type() == ColumnType.DOUBLE && value instanceof Number) {
+            double[] values = new double[n];
+            column.fillDoubles(0, n, values, 0, 1, ((Number) value).doubleValue());
+            return new DoubleColumn(values);
+        }
+        ColumnBuilder builder = new ColumnBuilder(n);
+        for (int i = 0; i < n; i++) {
+            builder.append(column.isNull(i) ? value : column.get(i));
+        }
+        return builder.build();
+    }
+
+    // fill value of a column
+    public Object getFill(String column) {
+        checkFitted();
+        int j = columns.indexOf(column);
+        if (j < 0) {
+            throw new IllegalArgumentException("Column " + column + " was not fitted");
+        }
+        return fills[j];
+    }
+}
@@ -60,21 +60,28 @@ public class NullHandler {
 
     }
 
+    // mean of the non-null values, from the column's cached statistics when it is numeric
+    private double meanOf(DataFrame df, String columnName, List<Object> column) {
+        if (df.column(columnName).type().isNumeric()) {
+            return df.stats(columnName).getMean();
+        }
+        double sum = 0;
+        int count = 0;
+        for (Object val : column) {
+            if (val != null) {
+                sum += Double.valueOf(val.toString());
+                count++;
+            }
+        }
+        return sum / count;
+    }
+
     public DataFrame fillNullsWithMeasure(DataFrame df, String columnName, String measureInLowerCase) {
         List<Object> column = df.getData().get(columnName);
         StatsUtils u = new StatsUtils();
 
         if ("mean".equals(measureInLowerCase)) {
-            double sum = 0;
-            int count = 0;
-
-            for (Object val : column) {
-                if (val != null) {
-                    sum += Double.valueOf(val.toString());
-                    count++;
-                }
-            }
-            double mean = sum / count;
+            double mean = meanOf(df, columnName, column);
             return ReplaceNullsWithValue(df, columnName, mean);
         }
 
@@ -110,14 +117,7 @@ public class NullHandler {
 
             else switch (measureInLowerCase) {
                 case "mean" -> {
-                    double sum = 0;
-                    int count = 0;
-                    for (Object val : column) {
-                        if (val != null) {
-                            sum += Double.valueOf(val.toString());
-                            count++;
-                        }
-                    }   double mean = sum / count;
+                    double mean = meanOf(newDf, columnName, column);
                     newDf = ReplaceNullsWithValue(newDf, columnName, mean);
                 }
                 case "median" -> {
@@ -0,0 +1,202 @@
+package mlcore.dataframe.transformations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.SparseMatrix;
+import mlcore.dataframe.columns.Column;
+import mlcore.dataframe.columns.ColumnType;
+import mlcore.dataframe.columns.IntColumn;
+
+/**
+ * Fitted one-hot encoder. Categories are learned in order of first appearance; with a cap,
+ * only the {@code maxCategories} most frequent ones of a column get their own feature and
+ * the rest share a {@code column_other} feature. Values not seen during fit also go to the
+ * "other" feature, or encode to all zeros when the column has none.
+ *
+ * {@link #transformSparse} returns the features as a {@link SparseMatrix} with one non-zero
+ * per encoded column and row, so high-cardinality columns never materialize dense zeros.
+ * {@link #transform} keeps the dense layout of {@link Encoder#oneHotEncoding}.
+ */
+public class OneHotTransformer extends Transformer {
+
+    private static final int PARALLEL_CELLS = 1 << 16;
+
+    private final int maxCategories;
+    private List<Map<Object, Integer>> index;   // per column, feature of each kept category
+    private int[] otherFeature;                 // per column, feature of the "other" bucket or -1
+    private String[] featureNames;
+
+    public OneHotTransformer(List<String> columns) {
+        this(columns, 0);
+    }
+
+    // maxCategories <= 0 keeps every category
+    public OneHotTransformer(List<String> columns, int maxCategories) {
+        super(columns);
+        this.maxCategories = maxCategories;
+    }
+
+    @Override
+    public OneHotTransformer fit(DataFrame df) {
+        index = new ArrayList<>();
+        otherFeature = new int[columns.size()];
+        List<String> names = new ArrayList<>();
+        for (int j = 0; j < columns.size(); j++) {
+            String col = columns.get(j);
+            Map<Object, Integer> counts = countCategories(df.column(col));
+            List<Object> kept = new ArrayList<>(counts.keySet());
+            if (maxCategories > 0 && kept.size() > maxCategories) {
+                // stable sort, so ties keep their order of first appearance
+                List<Object> byCount = new ArrayList<>(kept);
+                byCount.sort((a, b) -> Integer.compare(counts.get(b), counts.get(a)));
+                Set<Object> top = new HashSet<>(byCount.subList(0, maxCategories));
+                kept.removeIf(category -> !top.contains(category));
+            }
+            Map<Object, Integer> features = new HashMap<>();
+            for (Object category : kept) {
+                features.put(category, names.size());
+                names.add(col + "_" + (category == null ? "null" : category.toString().replaceAll("\\s+", "_")));
+            }
+            index.add(features);
+            otherFeature[j] = -1;
+            if (kept.size() < counts.size()) {
+                otherFeature[j] = names.size();
+                names.add(col + "_other");
+            }
+        }
+        featureNames = names.toArray(new String[0]);
+        fitted = true;
+        return this;
+    }
+
+    // occurrences of every category, in order of first appearance
+    private static Map<Object, Integer> countCategories(Column column) {
+        Map<Object, Integer> counts = new LinkedHashMap<>();
+        int n = column.size();
+        if (column.type() == ColumnType.STRING) {
+            // count codes, then order the dictionary entries by first row
+            int[] perCode = new int[column.dictionarySize()];
+            int[] firstRow = new int[perCode.length];
+            int nulls = 0;
+            int firstNull = -1;
+            for (int i = 0; i < n; i++) {
+                if (column.isNull(i)) {
+                    if (nulls++ == 0) firstNull = i;
+                    continue;
+                }
+                int code = column.getCode(i);
+                if (perCode[code]++ == 0) firstRow[code] = i;
+            }
+            List<Integer> seen = new ArrayList<>();
+            for (int code = 0; code < perCode.length; code++) {
+                if (perCode[code] > 0) seen.add(code);
+            }
+            if (nulls > 0) seen.add(-1);
+            int nullRow = firstNull;
+            seen.sort((a, b) -> Integer.compare(a < 0 ? nullRow : firstRow[a], b < 0 ? nullRow : firstRow[b]));
+            for (int code : seen) {
+                counts.put(code < 0 ? null : column.dictionaryValue(code), code < 0 ? nulls : perCode[code]);
+            }
+            return counts;
+        }
+        for (int i = 0; i < n; i++) {
+            counts.merge(column.get(i), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    // feature of every row of column j, -1 when the row has none
+    private int[] features(Column column, int j) {
+        Map<Object, Integer> features = index.get(j);
+        int other = otherFeature[j];
+        int n = column.size();
+        int[] out = new int[n];
+        if (column.type() == ColumnType.STRING) {
+            int[] byCode = new int[column.dictionarySize()];
+            for (int code = 0; code < byCode.length; code++) {
+                byCode[code] = features.getOrDefault(column.dictionaryValue(code), other);
+            }
+            int nullFeature = features.getOrDefault(null, other);
+            for (int i = 0; i < n; i++) {
+                out[i] = column.isNull(i) ? nullFeature : byCode[column.getCode(i)];
+            }
+            return out;
+        }
+        for (int i = 0; i < n; i++) {
+            out[i] = features.getOrDefault(column.get(i), other);
+        }
+        return out;
+    }
+
+    private int[][] features(DataFrame df) {
+        Column[] bound = new Column[columns.size()];
+        for (int j = 0; j < bound.length; j++) {
+            bound[j] = df.column(columns.get(j));
+        }
+        int[][] features = new int[bound.length][];
+        IntStream tasks = IntStream.range(0, bound.length);
+        boolean parallel = bound.length > 1 && (long) df.getCountRows() * bound.length >= PARALLEL_CELLS;
+        (parallel ? tasks.parallel() : tasks).forEach(j -> features[j] = features(bound[j], j));
+        return features;
+    }
+
+    // one row per row of df and one column per feature name, 1.0 where a category is present
+    public SparseMatrix transformSparse(DataFrame df) {
+        checkFitted();
+        int[][] features = features(df);
+        int n = df.getCountRows();
+        int[] pointers = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            int count = 0;
+            for (int[] column : features) {
+                if (column[i] >= 0) count++;
+            }
+            pointers[i + 1] = pointers[i] + count;
+        }
+        // features of later columns have higher indices, so rows come out sorted
+        int[] indices = new int[pointers[n]];
+        for (int i = 0, at = 0; i < n; i++) {
+            for (int[] column : features) {
+                if (column[i] >= 0) indices[at++] = column[i];
+            }
+        }
+        double[] values = new double[indices.length];
+        Arrays.fill(values, 1.0);
+        return new SparseMatrix(pointers, indices, values, n, featureNames.length);
+    }
+
+    // dense 0/1 columns in place of the encoded columns, as Encoder.oneHotEncoding produces
+    @Override
+    public DataFrame transform(DataFrame df) {
+        checkFitted();
+        int[][] features = features(df);
+        int n = df.getCountRows();
+        int[][] dense = new int[featureNames.length][n];
+        for (int[] column : features) {
+            for (int i = 0; i < n; i++) {
+                if (column[i] >= 0) dense[column[i]][i] = 1;
+            }
+        }
+        List<IntColumn> encoded = new ArrayList<>();
+        for (int[] values : dense) {
+            encoded.add(new IntColumn(values));
+        }
+        return replaceColumns(df, columns, Arrays.asList(featureNames), encoded);
+    }
+
+    // names of the output features, in column order of the encoded matrix
+    public List<String> getFeatureNames() {
+        checkFitted();
+        return Collections.unmodifiableList(Arrays.asList(featureNames));
+    }
+}
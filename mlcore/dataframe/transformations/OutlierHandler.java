@@ -1,143 +1,103 @@
 package mlcore.dataframe.transformations;
 
 import java.util.*;
+import java.util.stream.IntStream;
+
 import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.columns.Column;
+import mlcore.dataframe.columns.ColumnStats;
+import mlcore.dataframe.columns.CompareOp;
+import mlcore.dataframe.filter.RowMask;
+import mlcore.dataframe.utils.KllSketch;
 import mlcore.dataframe.utils.StatsUtils;
 
 public class OutlierHandler {
 
+    private static final int PARALLEL_CELLS = 1 << 16;
+
     public Double IQR(DataFrame df, String columnName, StatsUtils stat) {
-        Double Q1 = stat.Q1Value(df, columnName);
-        Double Q3 = stat.Q3Value(df, columnName);
-        return Q3 - Q1;
+        double[] quartiles = stat.quartiles(df, columnName);
+        return quartiles[2] - quartiles[0];
     }
 
-    public DataFrame RemoveOutliers(DataFrame df, String columnName) {
-        int n = df.getCountRows();
-        List<Object> values = df.getData().get(columnName);
-
-        double lowerBound;
-        double upperBound;
-
-        if (n < 10) {
-            // Small dataset: use mean ± 1*std
-            double sum = 0;
-            for (Object val : values) {
-                sum += Double.valueOf(val.toString());
-            }
-            double mean = sum / n;
-
-            double variance = 0;
-            for (Object val : values) {
-                double v = Double.parseDouble(val.toString());
-                variance += Math.pow(v - mean, 2);
-            }
-            variance = variance / n;
-            double std = Math.sqrt(variance);
-
-            lowerBound = mean - 1 * std;
-            upperBound = mean + 1 * std;
-        } else {
-            // Larger dataset: use standard IQR
-            StatsUtils stat = new StatsUtils();
-            Double iqr = IQR(df, columnName, stat);
-            Double q1 = stat.Q1Value(df, columnName);
-            Double q3 = stat.Q3Value(df, columnName);
+    // IQR from a quantile sketch, for columns too large to copy and select on
+    public Double approxIQR(DataFrame df, String columnName, StatsUtils stat) {
+        double[] quartiles = stat.approxQuartiles(df, columnName);
+        return quartiles[2] - quartiles[0];
+    }
 
-            lowerBound = q1 - 1.5 * iqr;
-            upperBound = q3 + 1.5 * iqr;
-        }
+    // IQR of data seen chunk by chunk, from a sketch fed with every chunk
+    public Double approxIQR(KllSketch sketch) {
+        return sketch.quantile(0.75) - sketch.quantile(0.25);
+    }
 
-        // Filter rows within bounds
-        List<Integer> validIndices = new ArrayList<>();
-        for (int i = 0; i < values.size(); i++) {
-            Double val = Double.valueOf(values.get(i).toString());
-            if (val >= lowerBound && val <= upperBound) {
-                validIndices.add(i);
-            }
-        }
+    public DataFrame RemoveOutliers(DataFrame df, String columnName) {
+        return RemoveOutliers(df, List.of(columnName));
+    }
 
-        // Build filtered DataFrame
-        Map<String, List<Object>> filtered = new LinkedHashMap<>();
-        for (String column : df.getData().keySet()) {
-            List<Object> originalColumn = df.getData().get(column);
-            List<Object> newColumn = new ArrayList<>();
-            for (int index : validIndices) {
-                newColumn.add(originalColumn.get(index));
-            }
-            filtered.put(column, newColumn);
+    public DataFrame RemoveOutliers(DataFrame df, List<String> columnNames) {
+        // small datasets use mean ± 1*std, larger ones the standard 1.5*IQR fences
+        if (df.getCountRows() < 10) {
+            return RemoveOutliers(df, columnNames, "std", 1);
         }
-
-        return new DataFrame(filtered);
+        return RemoveOutliers(df, columnNames, "iqr", 1.5);
     }
 
-    public DataFrame RemoveOutliers(DataFrame df, List<String> columnNames) {
+    /**
+     * Removes every row that is outside the bounds of any of the columns. With "iqr" a
+     * column keeps [Q1 - k*IQR, Q3 + k*IQR], with "std" it keeps [mean - k*std, mean + k*std]
+     * (population std). Nulls are not outliers.
+     *
+     * Bounds are computed once per column, each column then marks its rows in a keep-mask
+     * in one pass, columns in parallel, and the surviving rows are gathered once.
+     */
+    public DataFrame RemoveOutliers(DataFrame df, List<String> columnNames, String strategy, double k) {
+        if (!"iqr".equals(strategy) && !"std".equals(strategy)) {
+            throw new IllegalArgumentException("Unsupported strategy: " + strategy);
+        }
         int n = df.getCountRows();
-        Map<String, List<Object>> data = df.getData();
-        List<Integer> validIndices = new ArrayList<>();
-
-        // Check each row
-        for (int i = 0; i < n; i++) {
-            boolean isValid = true;
-
-            for (String columnName : columnNames) {
-                List<Object> values = data.get(columnName);
-                if (values == null) {
-                    throw new IllegalArgumentException("Column " + columnName + " not found in DataFrame");
-                }
-
-                double lowerBound, upperBound;
-
-                // Determine bounds based on dataset size
-                if (n < 10) {
-                    // Small dataset: mean ± 1*std
-                    double sum = 0;
-                    for (Object val : values) sum += Double.valueOf(val.toString());
-                    double mean = sum / n;
-
-                    double variance = 0;
-                    for (Object val : values) {
-                        double v = Double.parseDouble(val.toString());
-                        variance += Math.pow(v - mean, 2);
-                    }
-                    variance = variance / n;
-                    double std = Math.sqrt(variance);
-
-                    lowerBound = mean - 1 * std;
-                    upperBound = mean + 1 * std;
-                } else {
-                    // Large dataset: IQR method
-                    StatsUtils stat = new StatsUtils();
-                    Double iqr = IQR(df, columnName, stat);
-                    Double q1 = stat.Q1Value(df, columnName);
-                    Double q3 = stat.Q3Value(df, columnName);
-
-                    lowerBound = q1 - 1.5 * iqr;
-                    upperBound = q3 + 1.5 * iqr;
-                }
+        Column[] columns = new Column[columnNames.size()];
+        for (int c = 0; c < columns.length; c++) {
+            columns[c] = df.column(columnNames.get(c));
+        }
 
-                // Check if current value is within bounds
-                Double val = Double.valueOf(values.get(i).toString());
-                if (val < lowerBound || val > upperBound) {
-                    isValid = false;
-                    break;
-                }
-            }
+        long[][] keep = new long[columns.length][];
+        IntStream tasks = IntStream.range(0, columns.length);
+        boolean parallel = columns.length > 1 && (long) n * columns.length >= PARALLEL_CELLS;
+        (parallel ? tasks.parallel() : tasks).forEach(c -> keep[c] = keepMask(columns[c], strategy, k));
 
-            if (isValid) validIndices.add(i);
+        RowMask mask = RowMask.all(n);
+        for (long[] words : keep) {
+            mask = mask.and(new RowMask(words, n));
         }
+        return df.filter(mask);
+    }
 
-        // Build filtered DataFrame
-        Map<String, List<Object>> filtered = new LinkedHashMap<>();
-        for (String column : data.keySet()) {
-            List<Object> originalColumn = data.get(column);
-            List<Object> newColumn = new ArrayList<>();
-            for (int index : validIndices) {
-                newColumn.add(originalColumn.get(index));
-            }
-            filtered.put(column, newColumn);
+    // rows of the column that are inside its bounds or null
+    private static long[] keepMask(Column column, String strategy, double k) {
+        double lowerBound;
+        double upperBound;
+        if ("std".equals(strategy)) {
+            ColumnStats stats = column.stats();
+            lowerBound = stats.getMean() - k * stats.getStd();
+            upperBound = stats.getMean() + k * stats.getStd();
+        } else {
+            double[] quartiles = column.quartiles();
+            double iqr = quartiles[2] - quartiles[0];
+            lowerBound = quartiles[0] - k * iqr;
+            upperBound = quartiles[2] + k * iqr;
         }
 
-        return new DataFrame(filtered);
+        int words = (column.size() + 63) >>> 6;
+        long[] above = new long[words];
+        long[] below = new long[words];
+        column.compareMask(CompareOp.GE, lowerBound, above);
+        column.compareMask(CompareOp.LE, upperBound, below);
+        long[] keep = new long[words];
+        column.nullMask(keep);
+        for (int w = 0; w < words; w++) {
+            keep[w] |= above[w] & below[w];
+        }
+        return keep;
     }
 }
@@ -0,0 +1,33 @@
+package mlcore.dataframe.transformations;
+
+import java.util.List;
+
+import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.utils.StatsUtils;
+
+// fitted counterpart of Scaler.RobustScaler: (x - median) / IQR, with an IQR of 0 treated as 1
+public class RobustTransformer extends ScalingTransformer {
+
+    public RobustTransformer(List<String> columns) {
+        super(columns);
+    }
+
+    public RobustTransformer(List<String> columns, double[] median, double[] iqr) {
+        super(columns, median, nonZero(iqr));
+    }
+
+    @Override
+    protected void fitColumn(DataFrame df, String column, int j) {
+        double[] quartiles = new StatsUtils().quartiles(df, column);
+        center[j] = quartiles[1];
+        scale[j] = nonZero(quartiles[2] - quartiles[0]);
+    }
+
+    public double[] getMedian() {
+        return getCenter();
+    }
+
+    public double[] getIqr() {
+        return getScale();
+    }
+}
@@ -42,6 +42,11 @@ public class Scaler {
         return newDF;
     }
 
+    // scales every listed column from one statistics pass per column, working on columns in parallel
+    public DataFrame MinMaxScaler(DataFrame df, List<String> columnNames) {
+        return new MinMaxTransformer(columnNames).fitTransform(df);
+    }
+
     public DataFrame inverseMinMaxScaler(DataFrame df, String columnName, double originalMin, double originalMax) {
         if (!df.getData().containsKey(columnName)) {
             throw new IllegalArgumentException("Column " + columnName + " not found");
@@ -98,6 +103,10 @@ public class Scaler {
         return newDF;
     }
 
+    public DataFrame StandardScaler(DataFrame df, List<String> columnNames) {
+        return new StandardTransformer(columnNames).fitTransform(df);
+    }
+
     public DataFrame inverseStandardScaler(DataFrame df, String columnName, double originalMean, double originalSD) {
         if (!df.getData().containsKey(columnName)) {
             throw new IllegalArgumentException("Column " + columnName + " not found");
@@ -134,9 +143,10 @@ public class Scaler {
         List<Object> columnValues = df.getData().get(columnName);
         List<Object> newCol = new ArrayList<>();
 
-        double median = st.medianColumn(df, columnName);
-        double q1 = st.Q1Value(df, columnName);
-        double q3 = st.Q3Value(df, columnName);
+        double[] quartiles = st.quartiles(df, columnName);
+        double median = quartiles[1];
+        double q1 = quartiles[0];
+        double q3 = quartiles[2];
         double iqr = q3 - q1;
 
         // Handle edge case where IQR is zero
@@ -160,6 +170,10 @@ public class Scaler {
         return newDF;
     }
 
+    public DataFrame RobustScaler(DataFrame df, List<String> columnNames) {
+        return new RobustTransformer(columnNames).fitTransform(df);
+    }
+
     public DataFrame inverseRobustScaler(DataFrame df, String columnName, double originalMedian, double originalIQR) {
         if (!df.getData().containsKey(columnName)) {
             throw new IllegalArgumentException("Column " + columnName + " not found");
@@ -0,0 +1,137 @@
+package mlcore.dataframe.transformations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.columns.Column;
+import mlcore.dataframe.columns.DoubleColumn;
+import mlcore.dataframe.columns.NullMask;
+
+/**
+ * Base of the fitted scalers: every column is mapped to {@code (x - center) / scale}
+ * and renamed {@code column_scaled}, like the methods of {@link Scaler}. The inverse
+ * reads the {@code _scaled} columns back into the original names. Missing values stay
+ * missing.
+ *
+ * Columns are independent, so on large frames fit and transform work on several columns
+ * at once; each column is read once to fit and once to transform.
+ */
+public abstract class ScalingTransformer extends InvertibleTransformer {
+
+    private static final int PARALLEL_CELLS = 1 << 16;
+
+    protected double[] center;
+    protected double[] scale;
+
+    protected ScalingTransformer(List<String> columns) {
+        super(columns);
+    }
+
+    // transformer with known parameters, e.g. saved from an earlier fit
+    protected ScalingTransformer(List<String> columns, double[] center, double[] scale) {
+        super(columns);
+        if (center.length != columns.size() || scale.length != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " parameters per array");
+        }
+        this.center = center.clone();
+        this.scale = scale.clone();
+        this.fitted = true;
+    }
+
+    @Override
+    public Transformer fit(DataFrame df) {
+        // resolve every column before going parallel, so a missing one fails fast
+        Column[] bound = bind(df, columns);
+        center = new double[columns.size()];
+        scale = new double[columns.size()];
+        forEachColumn(bound, j -> fitColumn(df, columns.get(j), j));
+        fitted = true;
+        return this;
+    }
+
+    // sets center[j] and scale[j] from the column; may run concurrently for different columns
+    protected abstract void fitColumn(DataFrame df, String column, int j);
+
+    // a zero or undefined spread (constant column, single value) is treated as 1
+    protected static double nonZero(double scale) {
+        return scale == 0 || Double.isNaN(scale) ? 1 : scale;
+    }
+
+    protected static double[] nonZero(double[] scale) {
+        double[] s = scale.clone();
+        for (int j = 0; j < s.length; j++) s[j] = nonZero(s[j]);
+        return s;
+    }
+
+    @Override
+    public DataFrame transform(DataFrame df) {
+        checkFitted();
+        List<String> scaledNames = new ArrayList<>();
+        for (String col : columns) {
+            scaledNames.add(col + "_scaled");
+        }
+        Column[] bound = bind(df, columns);
+        Column[] scaled = new Column[bound.length];
+        forEachColumn(bound, j -> scaled[j] = apply(bound[j], center[j], 1.0 / scale[j], false));
+        return replaceColumns(df, columns, scaledNames, Arrays.asList(scaled));
+    }
+
+    @Override
+    public DataFrame inverseTransform(DataFrame df) {
+        checkFitted();
+        List<String> scaledNames = new ArrayList<>();
+        for (String col : columns) {
+            scaledNames.add(col + "_scaled");
+        }
+        Column[] bound = bind(df, scaledNames);
+        Column[] original = new Column[bound.length];
+        forEachColumn(bound, j -> original[j] = apply(bound[j], center[j], scale[j], true));
+        return replaceColumns(df, scaledNames, columns, Arrays.asList(original));
+    }
+
+    private static Column[] bind(DataFrame df, List<String> names) {
+        Column[] bound = new Column[names.size()];
+        for (int j = 0; j < bound.length; j++) {
+            bound[j] = df.column(names.get(j));
+        }
+        return bound;
+    }
+
+    private static void forEachColumn(Column[] bound, IntConsumer task) {
+        long cells = 0;
+        for (Column column : bound) cells += column.size();
+        IntStream tasks = IntStream.range(0, bound.length);
+        (bound.length > 1 && cells >= PARALLEL_CELLS ? tasks.parallel() : tasks).forEach(task);
+    }
+
+    // (x - center) * factor, or x * factor + center for the inverse
+    private static Column apply(Column column, double center, double factor, boolean inverse) {
+        int n = column.size();
+        double[] values = new double[n];
+        column.fillDoubles(0, n, values, 0, 1, Double.NaN);
+        long[] nulls = null;
+        for (int i = 0; i < n; i++) {
+            if (column.isNull(i)) {
+                if (nulls == null) nulls = NullMask.create(n);
+                NullMask.set(nulls, i);
+                continue;
+            }
+            values[i] = inverse ? values[i] * factor + center : (values[i] - center) * factor;
+        }
+        return new DoubleColumn(values, nulls, n);
+    }
+
+    public double[] getCenter() {
+        checkFitted();
+        return center.clone();
+    }
+
+    public double[] getScale() {
+        checkFitted();
+        return scale.clone();
+    }
+}
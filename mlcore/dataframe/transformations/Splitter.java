@@ -37,18 +37,9 @@ public class Splitter {
 
         return split;
     }
-    // obtain the Rows based on specified indices.
+    // obtain the Rows based on specified indices (typed columns are returned as views, not copies)
     public static DataFrame getRowsByIndices(DataFrame df, List<Integer> indices) {
-        Map<String, List<Object>> filtered = new LinkedHashMap<>();
-        for (String col : df.getData().keySet()) {
-            List<Object> colData = df.getData().get(col);
-            List<Object> newCol = new ArrayList<>();
-            for (int idx : indices) {
-                newCol.add(colData.get(idx));
-            }
-            filtered.put(col, newCol);
-        }
-        return new DataFrame(filtered);
+        return df.selectRows(indices);
     }
     // returns the target column as a new dataframe
     public DataFrame getTargetColumn(DataFrame df, String target) {
@@ -58,7 +49,7 @@ public class Splitter {
         }
 
         Map<String, List<Object>> result = new LinkedHashMap<>();
-        result.put(target, new ArrayList<>(df.getData().get(target)));
+        result.put(target, df.getData().get(target)); // shares the column, values are never modified in place
 
         return new DataFrame(result);
     }
@@ -69,7 +60,7 @@ public class Splitter {
             if (!df.getData().containsKey(target)) {
                 throw new IllegalArgumentException("Column " + target + " not found in DataFrame.");
             }
-            result.put(target, new ArrayList<>(df.getData().get(target)));
+            result.put(target, df.getData().get(target));
         }
 
         return new DataFrame(result);
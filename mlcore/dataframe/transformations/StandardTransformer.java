@@ -0,0 +1,41 @@
+package mlcore.dataframe.transformations;
+
+import java.util.List;
+
+import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.columns.ColumnStats;
+import mlcore.dataframe.utils.StatsUtils;
+
+// fitted counterpart of Scaler.StandardScaler: (x - mean) / sample sd, with an sd of 0 treated as 1
+public class StandardTransformer extends ScalingTransformer {
+
+    public StandardTransformer(List<String> columns) {
+        super(columns);
+    }
+
+    public StandardTransformer(List<String> columns, double[] mean, double[] sd) {
+        super(columns, mean, nonZero(sd));
+    }
+
+    @Override
+    protected void fitColumn(DataFrame df, String column, int j) {
+        ColumnStats stats = df.stats(column);
+        if (Double.isNaN(stats.getMean())) {
+            // OBJECT columns have no typed statistics; StatsUtils reads the numbers among their values
+            StatsUtils st = new StatsUtils();
+            center[j] = st.meanColumn(df, column);
+            scale[j] = nonZero(st.sdValue(df, column));
+            return;
+        }
+        center[j] = stats.getMean();
+        scale[j] = nonZero(Math.sqrt(stats.getSampleVariance()));
+    }
+
+    public double[] getMean() {
+        return getCenter();
+    }
+
+    public double[] getSd() {
+        return getScale();
+    }
+}
@@ -0,0 +1,71 @@
+package mlcore.dataframe.transformations;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import mlcore.dataframe.DataFrame;
+
+/**
+ * Preprocessing step that learns its parameters once with {@link #fit} and then applies
+ * them to any DataFrame with the same columns, e.g. every scoring batch at serving time.
+ *
+ * Fitted parameters are kept per column in primitive arrays, so {@link #transform} is a
+ * single pass over each column with no statistics computed. Transformers never modify
+ * the DataFrame they are given.
+ *
+ * <pre>
+ * Transformer scaler = new StandardTransformer(List.of("age", "income")).fit(train);
+ * DataFrame scaledTrain = scaler.transform(train);
+ * DataFrame scaledBatch = scaler.transform(batch);
+ * </pre>
+ */
+public abstract class Transformer {
+
+    protected final List<String> columns;
+    protected boolean fitted;
+
+    protected Transformer(List<String> columns) {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("At least one column is required");
+        }
+        this.columns = new ArrayList<>(columns);
+    }
+
+    // learns the parameters from df and returns this transformer
+    public abstract Transformer fit(DataFrame df);
+
+    public abstract DataFrame transform(DataFrame df);
+
+    public DataFrame fitTransform(DataFrame df) {
+        return fit(df).transform(df);
+    }
+
+    public List<String> getColumns() {
+        return Collections.unmodifiableList(columns);
+    }
+
+    public boolean isFitted() {
+        return fitted;
+    }
+
+    protected void checkFitted() {
+        if (!fitted) {
+            throw new IllegalStateException(getClass().getSimpleName() + " must be fitted before use");
+        }
+    }
+
+    // copy of df in which column oldNames[j] is replaced by values[j] under newNames[j]
+    protected static DataFrame replaceColumns(DataFrame df, List<String> oldNames, List<String> newNames, List<? extends List<Object>> values) {
+        Map<String, List<Object>> data = new LinkedHashMap<>(df.getData());
+        for (int j = 0; j < oldNames.size(); j++) {
+            data.remove(oldNames.get(j));
+        }
+        for (int j = 0; j < newNames.size(); j++) {
+            data.put(newNames.get(j), values.get(j));
+        }
+        return new DataFrame(data);
+    }
+}
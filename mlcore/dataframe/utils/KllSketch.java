@@ -0,0 +1,268 @@
+package mlcore.dataframe.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import mlcore.dataframe.columns.Column;
+
+/**
+ * Approximate quantiles of a stream of doubles in bounded memory (KLL sketch).
+ *
+ * Values enter a stack of compactors. Level h holds items that each stand for 2^h input
+ * values; when the sketch is full, the lowest overfull level is sorted and every other
+ * item (starting at a random offset) is promoted to the next level. Capacities shrink by
+ * a factor of 2/3 per level below the top, so the sketch keeps O(k) items however many
+ * values are added. The rank error is roughly 1.7% for the default {@code k = 200} and
+ * falls in proportion to 1/k.
+ *
+ * Sketches of disjoint parts of the data (chunks of a CSV file, threads, partitions) can be
+ * combined with {@link #merge}. A sketch is not thread-safe; build one per thread and
+ * merge them.
+ *
+ * <pre>
+ * KllSketch sketch = new KllSketch();
+ * try (CsvReader reader = DataFrame.readCSVChunks("events.csv", ",", 100_000)) {
+ *     while (reader.hasNext()) {
+ *         sketch.update(reader.next().column("latency"));
+ *     }
+ * }
+ * double p99 = sketch.quantile(0.99);
+ * </pre>
+ */
+public class KllSketch {
+
+    public static final int DEFAULT_K = 200;
+
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_CAPACITY = 2;
+    private static final int PARALLEL_ROWS = 1 << 16;
+
+    private final int k;
+    private double[][] levels = new double[1][];
+    private int[] sizes = new int[1];
+    private int numLevels = 1;
+    private int retained;      // items over all levels
+    private int maxRetained;   // sum of the level capacities
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    // sorted items and cumulative weights for queries, rebuilt after an update
+    private double[] sortedItems;
+    private long[] cumulativeWeights;
+
+    public KllSketch() {
+        this(DEFAULT_K);
+    }
+
+    public KllSketch(int k) {
+        if (k < 8) {
+            throw new IllegalArgumentException("k must be at least 8, got " + k);
+        }
+        this.k = k;
+        levels[0] = new double[k];
+        maxRetained = capacity(0);
+    }
+
+    // sketch of the non-missing numeric values of a column, built in parallel for long columns
+    public static KllSketch of(Column column, int k) {
+        int n = column.size();
+        int chunks = Math.max(1, n / PARALLEL_ROWS);
+        KllSketch[] parts = new KllSketch[chunks];
+        IntStream tasks = IntStream.range(0, chunks);
+        (chunks > 1 ? tasks.parallel() : tasks).forEach(c -> {
+            KllSketch part = new KllSketch(k);
+            part.update(column, (int) ((long) n * c / chunks), (int) ((long) n * (c + 1) / chunks));
+            parts[c] = part;
+        });
+        for (int c = 1; c < chunks; c++) {
+            parts[0].merge(parts[c]);
+        }
+        return parts[0];
+    }
+
+    public static KllSketch of(Column column) {
+        return of(column, DEFAULT_K);
+    }
+
+    // NaN values are ignored
+    public void update(double value) {
+        if (Double.isNaN(value)) return;
+        if (retained >= maxRetained) compress();
+        append(0, value);
+        retained++;
+        count++;
+        if (value < min) min = value;
+        if (value > max) max = value;
+        sortedItems = null;
+    }
+
+    public void update(Column column) {
+        update(column, 0, column.size());
+    }
+
+    // adds the non-missing numeric values of rows [from, to)
+    public void update(Column column, int from, int to) {
+        if (column.type().isNumeric()) {
+            for (int i = from; i < to; i++) {
+                if (!column.isNull(i)) update(column.getDouble(i));
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                Object val = column.get(i);
+                if (val instanceof Number) update(((Number) val).doubleValue());
+            }
+        }
+    }
+
+    // adds the values summarised by another sketch with the same k; the other sketch is unchanged
+    public void merge(KllSketch other) {
+        if (other.k != k) {
+            throw new IllegalArgumentException("Cannot merge sketches with k = " + k + " and k = " + other.k);
+        }
+        if (other.count == 0) return;
+        while (numLevels < other.numLevels) addLevel();
+        for (int h = 0; h < other.numLevels; h++) {
+            for (int i = 0; i < other.sizes[h]; i++) {
+                append(h, other.levels[h][i]);
+            }
+        }
+        retained += other.retained;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        while (retained > maxRetained) compress();
+        sortedItems = null;
+    }
+
+    // number of values added, including through merges
+    public long getCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public double getMin() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    public double getMax() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    // items currently held, a measure of the sketch's memory
+    public int getRetained() {
+        return retained;
+    }
+
+    // approximate value at the given fraction (0 to 1) of the sorted data, NaN when empty
+    public double quantile(double fraction) {
+        if (fraction < 0.0 || fraction > 1.0) {
+            throw new IllegalArgumentException("Quantile fraction must be between 0 and 1, got " + fraction);
+        }
+        if (count == 0) return Double.NaN;
+        if (fraction == 0.0) return min;
+        if (fraction == 1.0) return max;
+        prepareQueries();
+        long target = (long) Math.ceil(fraction * count);
+        int idx = Arrays.binarySearch(cumulativeWeights, target);
+        if (idx < 0) idx = -idx - 1;
+        return sortedItems[Math.min(idx, sortedItems.length - 1)];
+    }
+
+    public double[] quantiles(double... fractions) {
+        double[] result = new double[fractions.length];
+        for (int i = 0; i < fractions.length; i++) {
+            result[i] = quantile(fractions[i]);
+        }
+        return result;
+    }
+
+    // approximate fraction of the values that are at most the given value
+    public double rank(double value) {
+        if (count == 0) return Double.NaN;
+        prepareQueries();
+        int idx = Arrays.binarySearch(sortedItems, value);
+        // step past equal items so the rank includes them
+        int end = idx < 0 ? -idx - 1 : idx;
+        while (end < sortedItems.length && sortedItems[end] <= value) end++;
+        return end == 0 ? 0.0 : (double) cumulativeWeights[end - 1] / count;
+    }
+
+    private int capacity(int level) {
+        int depth = numLevels - level - 1;
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private void addLevel() {
+        if (numLevels == levels.length) {
+            levels = Arrays.copyOf(levels, numLevels * 2);
+            sizes = Arrays.copyOf(sizes, numLevels * 2);
+        }
+        levels[numLevels] = new double[MIN_CAPACITY];
+        numLevels++;
+        maxRetained = 0;
+        for (int h = 0; h < numLevels; h++) {
+            maxRetained += capacity(h);
+        }
+    }
+
+    private void append(int level, double value) {
+        double[] items = levels[level];
+        if (sizes[level] == items.length) {
+            items = Arrays.copyOf(items, Math.max(MIN_CAPACITY, items.length * 2));
+            levels[level] = items;
+        }
+        items[sizes[level]++] = value;
+    }
+
+    // compacts the lowest level that is over its capacity
+    private void compress() {
+        for (int h = 0; h < numLevels; h++) {
+            if (sizes[h] < capacity(h)) continue;
+            if (h + 1 == numLevels) addLevel();
+            double[] items = levels[h];
+            int size = sizes[h];
+            Arrays.sort(items, 0, size);
+            // an odd item out stays behind; the others are halved into the next level
+            int pairs = size / 2;
+            int offset = ThreadLocalRandom.current().nextBoolean() ? 1 : 0;
+            int start = size - 2 * pairs;
+            for (int i = start + offset; i < size; i += 2) {
+                append(h + 1, items[i]);
+            }
+            sizes[h] = start;
+            retained -= pairs;
+            return;
+        }
+    }
+
+    private void prepareQueries() {
+        if (sortedItems != null) return;
+        double[] items = new double[retained];
+        long[] weights = new long[retained];
+        int at = 0;
+        for (int h = 0; h < numLevels; h++) {
+            System.arraycopy(levels[h], 0, items, at, sizes[h]);
+            Arrays.fill(weights, at, at + sizes[h], 1L << h);
+            at += sizes[h];
+        }
+        // sort item indices by value, then accumulate the weights in that order
+        Integer[] order = new Integer[retained];
+        for (int i = 0; i < retained; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Double.compare(items[a], items[b]));
+        double[] sorted = new double[retained];
+        long[] cumulative = new long[retained];
+        long total = 0;
+        for (int i = 0; i < retained; i++) {
+            sorted[i] = items[order[i]];
+            total += weights[order[i]];
+            cumulative[i] = total;
+        }
+        sortedItems = sorted;
+        cumulativeWeights = cumulative;
+    }
+}
@@ -0,0 +1,130 @@
+package mlcore.dataframe.utils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * MurmurHash3 (Austin Appleby, public domain): the x86 32-bit variant and the first
+ * half of the x64 128-bit variant, plus the 64-bit finaliser for hashing primitives.
+ * Strings are hashed over their UTF-8 bytes, so results match other implementations.
+ */
+public final class MurmurHash3 {
+
+    private static final int C1_32 = 0xcc9e2d51;
+    private static final int C2_32 = 0x1b873593;
+    private static final long C1_64 = 0x87c37b91114253d5L;
+    private static final long C2_64 = 0x4cf5ad432745937fL;
+
+    private MurmurHash3() {
+    }
+
+    public static int hash32(String value, int seed) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return hash32(bytes, 0, bytes.length, seed);
+    }
+
+    // MurmurHash3_x86_32
+    public static int hash32(byte[] data, int offset, int length, int seed) {
+        int h1 = seed;
+        int end = offset + (length & ~3);
+        for (int i = offset; i < end; i += 4) {
+            int k1 = (data[i] & 0xff) | (data[i + 1] & 0xff) << 8 | (data[i + 2] & 0xff) << 16 | data[i + 3] << 24;
+            k1 *= C1_32;
+            k1 = Integer.rotateLeft(k1, 15);
+            k1 *= C2_32;
+            h1 ^= k1;
+            h1 = Integer.rotateLeft(h1, 13);
+            h1 = h1 * 5 + 0xe6546b64;
+        }
+        int k1 = 0;
+        int tail = length & 3;
+        for (int t = tail - 1; t >= 0; t--) {
+            k1 |= (data[end + t] & 0xff) << (t * 8);
+        }
+        if (tail > 0) {
+            k1 *= C1_32;
+            k1 = Integer.rotateLeft(k1, 15);
+            k1 *= C2_32;
+            h1 ^= k1;
+        }
+        h1 ^= length;
+        return fmix32(h1);
+    }
+
+    public static long hash64(String value, int seed) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return hash64(bytes, 0, bytes.length, seed);
+    }
+
+    // first 64 bits of MurmurHash3_x64_128
+    public static long hash64(byte[] data, int offset, int length, int seed) {
+        long h1 = seed & 0xffffffffL;
+        long h2 = h1;
+        int end = offset + (length & ~15);
+        for (int i = offset; i < end; i += 16) {
+            long k1 = getLong(data, i);
+            long k2 = getLong(data, i + 8);
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+        long k1 = 0;
+        long k2 = 0;
+        int tail = length & 15;
+        for (int t = tail - 1; t >= 8; t--) {
+            k2 ^= (data[end + t] & 0xffL) << ((t - 8) * 8);
+        }
+        for (int t = Math.min(tail, 8) - 1; t >= 0; t--) {
+            k1 ^= (data[end + t] & 0xffL) << (t * 8);
+        }
+        if (tail > 8) h2 ^= mixK2(k2);
+        if (tail > 0) h1 ^= mixK1(k1);
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        return h1 + h2;
+    }
+
+    // spreads the bits of a long; a cheap, well-mixed hash of a primitive value
+    public static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    public static int fmix32(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1_64;
+        k1 = Long.rotateLeft(k1, 31);
+        return k1 * C2_64;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2_64;
+        k2 = Long.rotateLeft(k2, 33);
+        return k2 * C1_64;
+    }
+
+    private static long getLong(byte[] data, int i) {
+        return (data[i] & 0xffL) | (data[i + 1] & 0xffL) << 8 | (data[i + 2] & 0xffL) << 16 | (data[i + 3] & 0xffL) << 24
+                | (data[i + 4] & 0xffL) << 32 | (data[i + 5] & 0xffL) << 40 | (data[i + 6] & 0xffL) << 48 | (data[i + 7] & 0xffL) << 56;
+    }
+}
@@ -0,0 +1,205 @@
+package mlcore.dataframe.utils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import mlcore.dataframe.columns.Column;
+import mlcore.dataframe.columns.ColumnType;
+
+/**
+ * Approximate most frequent values of a stream in fixed memory (Space-Saving).
+ *
+ * At most {@code capacity} values are monitored. A new value that finds the table full
+ * takes over the slot of the least counted value and inherits its count, which is
+ * recorded as the new value's possible overestimate. Every value that occurs more than
+ * {@code total / capacity} times is guaranteed to be monitored, and monitored counts
+ * are never below the true count. Summaries of disjoint chunks can be merged.
+ * Missing values are not counted.
+ */
+public class SpaceSaving {
+
+    private final int capacity;
+    private final Map<Object, Integer> slots;   // value -> slot
+    private final Object[] values;
+    private final long[] counts;
+    private final long[] errors;
+    private final int[] heap;                   // min-heap of slots by count
+    private final int[] heapIndex;              // slot -> position in heap
+    private int size;
+    private long total;
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive, got " + capacity);
+        }
+        this.capacity = capacity;
+        this.slots = new HashMap<>(capacity * 2);
+        this.values = new Object[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.heap = new int[capacity];
+        this.heapIndex = new int[capacity];
+    }
+
+    public void add(Object value) {
+        add(value, 1);
+    }
+
+    public void add(Object value, long weight) {
+        if (value == null || weight <= 0) return;
+        total += weight;
+        Integer slot = slots.get(value);
+        if (slot != null) {
+            counts[slot] += weight;
+            siftDown(heapIndex[slot]);
+            return;
+        }
+        if (size < capacity) {
+            int s = size++;
+            values[s] = value;
+            counts[s] = weight;
+            errors[s] = 0;
+            heap[s] = s;
+            heapIndex[s] = s;
+            slots.put(value, s);
+            siftUp(s);
+            return;
+        }
+        // replace the least counted value, which stays at the heap root
+        int s = heap[0];
+        slots.remove(values[s]);
+        values[s] = value;
+        errors[s] = counts[s];
+        counts[s] += weight;
+        slots.put(value, s);
+        siftDown(0);
+    }
+
+    public void update(Column column) {
+        update(column, 0, column.size());
+    }
+
+    // adds the non-missing values of rows [from, to)
+    public void update(Column column, int from, int to) {
+        if (column.type() == ColumnType.STRING) {
+            // exact counts per dictionary code first, then one weighted update per value
+            long[] perCode = new long[column.dictionarySize()];
+            for (int i = from; i < to; i++) {
+                if (!column.isNull(i)) perCode[column.getCode(i)]++;
+            }
+            // heaviest first, so that frequent values are counted exactly before the table fills
+            Integer[] codes = new Integer[perCode.length];
+            for (int code = 0; code < codes.length; code++) codes[code] = code;
+            Arrays.sort(codes, (x, y) -> Long.compare(perCode[y], perCode[x]));
+            for (int code : codes) {
+                add(column.dictionaryValue(code), perCode[code]);
+            }
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            add(column.get(i));
+        }
+    }
+
+    // merges a summary of other data: a value missing from a full summary may have occurred
+    // up to that summary's minimum count, which is added to its count and error bound
+    // before the largest counts are kept
+    public void merge(SpaceSaving other) {
+        long minThis = size == capacity ? counts[heap[0]] : 0;
+        long minOther = other.size == other.capacity ? other.counts[other.heap[0]] : 0;
+        Map<Object, long[]> combined = new HashMap<>();
+        for (int s = 0; s < size; s++) {
+            combined.put(values[s], new long[] {counts[s] + minOther, errors[s] + minOther});
+        }
+        for (int s = 0; s < other.size; s++) {
+            long[] entry = combined.get(other.values[s]);
+            if (entry == null) {
+                combined.put(other.values[s], new long[] {other.counts[s] + minThis, other.errors[s] + minThis});
+            } else {
+                entry[0] += other.counts[s] - minOther;
+                entry[1] += other.errors[s] - minOther;
+            }
+        }
+        Object[] keys = combined.keySet().toArray();
+        Arrays.sort(keys, (a, b) -> Long.compare(combined.get(b)[0], combined.get(a)[0]));
+        long mergedTotal = total + other.total;
+        slots.clear();
+        size = 0;
+        for (int k = 0; k < Math.min(capacity, keys.length); k++) {
+            long[] entry = combined.get(keys[k]);
+            int s = size++;
+            values[s] = keys[k];
+            counts[s] = entry[0];
+            errors[s] = entry[1];
+            heap[s] = s;
+            heapIndex[s] = s;
+            slots.put(keys[k], s);
+            siftUp(s);
+        }
+        total = mergedTotal;
+    }
+
+    // the k values with the highest estimated counts, most frequent first
+    public Map<Object, Long> topK(int k) {
+        Integer[] order = new Integer[size];
+        for (int s = 0; s < size; s++) order[s] = s;
+        Arrays.sort(order, (a, b) -> Long.compare(counts[b], counts[a]));
+        Map<Object, Long> top = new LinkedHashMap<>();
+        for (int i = 0; i < Math.min(k, size); i++) {
+            top.put(values[order[i]], counts[order[i]]);
+        }
+        return top;
+    }
+
+    // estimated count, an upper bound on the true count; 0 when the value is not monitored
+    public long estimate(Object value) {
+        Integer slot = slots.get(value);
+        return slot == null ? 0 : counts[slot];
+    }
+
+    // how far estimate(value) may exceed the true count
+    public long errorBound(Object value) {
+        Integer slot = slots.get(value);
+        return slot == null ? (size == capacity ? counts[heap[0]] : 0) : errors[slot];
+    }
+
+    // number of values added
+    public long getTotal() {
+        return total;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void siftUp(int pos) {
+        int slot = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (counts[heap[parent]] <= counts[slot]) break;
+            place(heap[parent], pos);
+            pos = parent;
+        }
+        place(slot, pos);
+    }
+
+    private void siftDown(int pos) {
+        int slot = heap[pos];
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= size) break;
+            if (child + 1 < size && counts[heap[child + 1]] < counts[heap[child]]) child++;
+            if (counts[heap[child]] >= counts[slot]) break;
+            place(heap[child], pos);
+            pos = child;
+        }
+        place(slot, pos);
+    }
+
+    private void place(int slot, int pos) {
+        heap[pos] = slot;
+        heapIndex[slot] = pos;
+    }
+}
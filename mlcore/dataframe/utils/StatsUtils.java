@@ -4,10 +4,51 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.lang.Math;
+import java.util.stream.IntStream;
 import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.columns.Column;
+import mlcore.dataframe.columns.ColumnStats;
+import mlcore.dataframe.sort.SortKey;
 
 
 public class StatsUtils {
+    private static final int DESCRIBE_CHUNK_ROWS = 1 << 18;
+
+    // count, null count, mean, variance, min, max and sum of every column, one pass each
+    public Map<String, ColumnStats> describe(DataFrame df) {
+        return describe(df, new ArrayList<>(df.getData().keySet()));
+    }
+
+    // columns and large row ranges are profiled in parallel, partial results are merged per column
+    public Map<String, ColumnStats> describe(DataFrame df, List<String> columnNames) {
+        int rows = df.getCountRows();
+        int cols = columnNames.size();
+        Column[] columns = new Column[cols];
+        for (int c = 0; c < cols; c++) {
+            columns[c] = df.column(columnNames.get(c));
+        }
+
+        int chunks = Math.max(1, (rows + DESCRIBE_CHUNK_ROWS - 1) / DESCRIBE_CHUNK_ROWS);
+        ColumnStats[] partials = new ColumnStats[cols * chunks];
+        IntStream tasks = IntStream.range(0, partials.length);
+        (partials.length > 1 ? tasks.parallel() : tasks).forEach(t -> {
+            int from = (t % chunks) * DESCRIBE_CHUNK_ROWS;
+            int to = Math.min(rows, from + DESCRIBE_CHUNK_ROWS);
+            partials[t] = ColumnStats.of(columns[t / chunks], from, to);
+        });
+
+        Map<String, ColumnStats> stats = new LinkedHashMap<>();
+        for (int c = 0; c < cols; c++) {
+            ColumnStats merged = partials[c * chunks];
+            for (int k = 1; k < chunks; k++) {
+                merged = merged.merge(partials[c * chunks + k]);
+            }
+            columns[c].cacheStats(merged);
+            stats.put(columnNames.get(c), merged);
+        }
+        return stats;
+    }
+
     // gives the value counts of each value in a given column
     public Map<Object, Integer> valueCounts(DataFrame df, String columnName) {
         Map<String, List<Object>> data = new LinkedHashMap<>(df.getData());
@@ -26,8 +67,21 @@ public class StatsUtils {
         return counts;
     }
     
+    // cached statistics when the column holds plain numbers, null when the boxed loops must decide
+    private ColumnStats numericStats(DataFrame df, String columnName) {
+        Column column = df.column(columnName);
+        return column.type().isNumeric() ? column.stats() : null;
+    }
+
     //mean value of the numerical column
     public Double meanColumn(DataFrame df, String columnName) {
+        ColumnStats stats = numericStats(df, columnName);
+        if (stats != null) {
+            if (stats.getCount() == 0) {
+                throw new IllegalArgumentException("No numeric values found in column: " + columnName);
+            }
+            return stats.getMean();
+        }
         Map<String, List<Object>> data = new LinkedHashMap<>(df.getData());
 
         if (!data.containsKey(columnName)) {
@@ -52,77 +106,41 @@ public class StatsUtils {
         return total / count;
     }
 
-    //sorting the numerical values
+    //sorting by one column, missing values last; see DataFrame.sortBy for several keys
     public DataFrame sortByColumn(DataFrame df, String columnName, final boolean ascending) {
-        Map<String, List<Object>> data = new LinkedHashMap<>(df.getData());
-
-        if (!data.containsKey(columnName)) {
-            throw new IllegalArgumentException("Column " + columnName + " not found");
-        }
-
-        List<Object> columnValues = data.get(columnName);
-        int n = columnValues.size();
-
-        // Step 1: make index list
-        List<Integer> indices = new ArrayList<Integer>();
-        for (int i = 0; i < n; i++) {
-            indices.add(i);
-        }
-
-        // Step 2: sort indices by column values
-        indices.sort(new java.util.Comparator<Integer>() {
-            @SuppressWarnings("unchecked")
-            public int compare(Integer i1, Integer i2) {
-                Comparable v1 = (Comparable) columnValues.get(i1);
-                Comparable v2 = (Comparable) columnValues.get(i2);
-
-                if (ascending) {
-                    return v1.compareTo(v2);
-                } else {
-                    return v2.compareTo(v1);
-                }
-            }
-        });
-
-        // Step 3: reorder all columns
-        Map<String, List<Object>> sortedData = new LinkedHashMap<String, List<Object>>();
-        for (String col : data.keySet()) {
-            List<Object> colVals = data.get(col);
-            List<Object> newColVals = new ArrayList<Object>();
-            for (int idx : indices) {
-                newColVals.add(colVals.get(idx));
-            }
-            sortedData.put(col, newColVals);
-        }
-
-        return new DataFrame(sortedData);
+        return df.sortBy(ascending ? SortKey.asc(columnName) : SortKey.desc(columnName));
     }
 
-    //gives the median of the numerical column
+    //gives the median of the numerical column, by selection on a copy of that column only
     public Double medianColumn(DataFrame df, String columnName) {
-        DataFrame data = sortByColumn(df, columnName, true);
-
-        List<Object> columnValues = data.getData().get(columnName);
+        return quartiles(df, columnName)[1];
+    }
 
-        List<Double> numericalValues = new ArrayList<Double>();
-        for (Object val : columnValues) {
-            if (val instanceof Number) {
-                numericalValues.add(((Number) val).doubleValue());
-            }
+    // {Q1, median, Q3} of the numerical column from one selection pass, cached on the column
+    public double[] quartiles(DataFrame df, String columnName) {
+        double[] quartiles = df.quartiles(columnName);
+        if (Double.isNaN(quartiles[1])) {
+            return new double[] {0.0, 0.0, 0.0};
         }
+        return quartiles;
+    }
 
-        int size = numericalValues.size();
-        if (size == 0) {
-            return 0.0;
-        }
+    // estimated number of distinct non-missing values (HyperLogLog, about 0.8% error)
+    public long approxDistinctCount(DataFrame df, String columnName) {
+        return HyperLogLog.of(df.column(columnName)).estimate();
+    }
 
-        if (size % 2 != 0) { 
-            return numericalValues.get(size / 2);
-        } else {
-            Double middle1 = numericalValues.get((size / 2) - 1);
-            Double middle2 = numericalValues.get(size / 2);
-            return (middle1 + middle2) / 2.0;
-        }
+    // estimated counts of the k most frequent non-missing values, in fixed memory
+    public Map<Object, Long> approxTopK(DataFrame df, String columnName, int k) {
+        SpaceSaving summary = new SpaceSaving(Math.max(1000, 10 * k));
+        summary.update(df.column(columnName));
+        return summary.topK(k);
+    }
+
+    // most frequent non-missing value, estimated without counting every distinct value
+    public Object approxModeColumn(DataFrame df, String columnName) {
+        Map<Object, Long> top = approxTopK(df, columnName, 1);
+        return top.isEmpty() ? null : top.keySet().iterator().next();
     }
 
     //Most frequent occurrence
@@ -145,6 +163,10 @@ public class StatsUtils {
 
     
     public Double minimumValue(DataFrame df, String columnName) {
+        ColumnStats stats = numericStats(df, columnName);
+        if (stats != null) {
+            return stats.getCount() == 0 ? 0.0 : stats.getMin();
+        }
         Map<String, List<Object>> data = new LinkedHashMap<>(df.getData());
 
         if (!data.containsKey(columnName)) {
@@ -172,6 +194,10 @@ public class StatsUtils {
     }
 
     public Double maximumValue(DataFrame df, String columnName) {
+        ColumnStats stats = numericStats(df, columnName);
+        if (stats != null) {
+            return stats.getCount() == 0 ? 0.0 : stats.getMax();
+        }
         Map<String, List<Object>> data = new LinkedHashMap<>(df.getData());
 
         if (!data.containsKey(columnName)) {
@@ -199,6 +225,10 @@ public class StatsUtils {
     }
 
     public Double sumValue(DataFrame df, String columnName) {
+        ColumnStats stats = numericStats(df, columnName);
+        if (stats != null) {
+            return stats.getSum();
+        }
         Map<String, List<Object>> data = new LinkedHashMap<>(df.getData());
 
         if (!data.containsKey(columnName)) {
@@ -220,6 +250,10 @@ public class StatsUtils {
     }
 
     public Double varianceValue(DataFrame df, String columnName) {
+        ColumnStats stats = numericStats(df, columnName);
+        if (stats != null) {
+            return stats.getCount() <= 1 ? 0.0 : stats.getM2() / (stats.getCount() - 1);
+        }
         Map<String, List<Object>> data = new LinkedHashMap<>(df.getData());
 
         if (!data.containsKey(columnName)) {
@@ -251,7 +285,7 @@ public class StatsUtils {
             squared_sum += (num - mean) * (num - mean);
         }
         
-        return squared_sum / n - 1;
+        return squared_sum / (n - 1);
     }
 
     //Standard Deviation
@@ -260,69 +294,38 @@ public class StatsUtils {
         return standardDev;
     }
 
-    public Double Q1Value(DataFrame df, String columnName) {
-        DataFrame data = sortByColumn(df, columnName, true);
-
-        List<Object> columnValues = data.getData().get(columnName);
-
-        List<Double> numericalValues = new ArrayList<Double>();
-        for (Object val : columnValues) {
-            if (val instanceof Number) {
-                numericalValues.add(((Number) val).doubleValue());
-            }
-        }
-
-        int size = numericalValues.size();
-        if (size == 0) {
-            return 0.0;
-        }
-
-        List<Double> lowerHalf = numericalValues.subList(0, size / 2);
+    // bounded-memory quantile sketch of the column, mergeable with sketches of other chunks
+    public KllSketch quantileSketch(DataFrame df, String columnName, int k) {
+        return KllSketch.of(df.column(columnName), k);
+    }
 
-        int halfSize = lowerHalf.size();
-        if (halfSize % 2 != 0) { 
-            return lowerHalf.get(halfSize / 2);
-        } else {
-            Double middle1 = lowerHalf.get((halfSize / 2) - 1);
-            Double middle2 = lowerHalf.get(halfSize / 2);
-            return (middle1 + middle2) / 2.0;
+    // approximate {Q1, median, Q3} from a KLL sketch; see KllSketch for the error bounds
+    public double[] approxQuartiles(DataFrame df, String columnName) {
+        KllSketch sketch = quantileSketch(df, columnName, KllSketch.DEFAULT_K);
+        if (sketch.isEmpty()) {
+            return new double[] {0.0, 0.0, 0.0};
         }
+        return sketch.quantiles(0.25, 0.5, 0.75);
     }
 
-    public Double Q3Value(DataFrame df, String columnName) {
-        DataFrame data = sortByColumn(df, columnName, true);
-
-        List<Object> columnValues = data.getData().get(columnName);
-        List<Double> numericalValues = new ArrayList<Double>();
-
-        for (Object val : columnValues) {
-            if (val instanceof Number) {
-                numericalValues.add(((Number) val).doubleValue());
-            }
-        }
+    public Double approxMedianColumn(DataFrame df, String columnName) {
+        return approxQuartiles(df, columnName)[1];
+    }
 
-        int size = numericalValues.size();
-        if (size == 0) {
-            return 0.0;
-        }
+    public Double approxQ1Value(DataFrame df, String columnName) {
+        return approxQuartiles(df, columnName)[0];
+    }
 
-        int startIndex;
-        if (size % 2 == 0) {
-            startIndex = size / 2;
-        } else {
-            startIndex = (size / 2) + 1;
-        }
+    public Double approxQ3Value(DataFrame df, String columnName) {
+        return approxQuartiles(df, columnName)[2];
+    }
 
-        List<Double> upperHalf = numericalValues.subList(startIndex, size);
+    public Double Q1Value(DataFrame df, String columnName) {
+        return quartiles(df, columnName)[0];
+    }
 
-        int halfSize = upperHalf.size();
-        if (halfSize % 2 != 0) {
-            return upperHalf.get(halfSize / 2);
-        } else {
-            Double middle1 = upperHalf.get((halfSize / 2) - 1);
-            Double middle2 = upperHalf.get(halfSize / 2);
-            return (middle1 + middle2) / 2.0;
-        }
+    public Double Q3Value(DataFrame df, String columnName) {
+        return quartiles(df, columnName)[2];
     }
 
 }
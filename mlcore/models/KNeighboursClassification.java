@@ -1,6 +1,7 @@
 package mlcore.models;
 
 import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.SparseMatrix;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
@@ -11,23 +12,38 @@ import java.util.Set;
 import java.util.Arrays;
 import java.util.Comparator;
 
-public class KNeighboursClassification extends Model {
+public class KNeighboursClassification extends Model implements SparseModel {
     private int k;
-    private double[][] trainFeatures;
+    private double[] trainFeatures;  // row-major, m values per row
+    private SparseMatrix sparseTrainFeatures;
+    private int m;
     private int[] trainLabels;
     private Map<Integer, Object> labelMapping;
 
-    public KNeighbours(int k) {
+    public KNeighboursClassification(int k) {
         this.k = k;
     }
 
     @Override
     public void train(DataFrame X, DataFrame y) {
         int n = X.getCountRows();
-        int m = X.getCountCols();
+        m = X.getCountCols();
 
-        trainFeatures = X.to2DArray();
+        trainFeatures = X.toMatrix().getData();
+        sparseTrainFeatures = null;
+        encodeLabels(y, n);
+    }
+
+    @Override
+    public void train(SparseMatrix X, DataFrame y) {
+        m = X.getCols();
+        sparseTrainFeatures = X;
+        trainFeatures = null;
+        encodeLabels(y, X.getRows());
+    }
 
+    // maps the distinct targets to 0, 1, 2, ... and stores the code of every training row
+    private void encodeLabels(DataFrame y, int n) {
         // Extract original target values
         List<Object> originalTargets = y.getColumn(
                 y.getData().keySet().iterator().next())
@@ -59,17 +75,56 @@ public class KNeighboursClassification extends Model {
 
 
     public DataFrame predict(DataFrame X) {
-    double[][] features = X.to2DArray();
+    if (trainFeatures == null) {
+        throw new IllegalStateException("Model was trained on sparse features");
+    }
+    double[] features = X.toMatrix().getData();
     int n = X.getCountRows();
+    int trainRows = trainLabels.length;
 
     List<Object> predictions = new ArrayList<>();
 
     for(int i = 0; i < n; i++) {
-        double[] distances = new double[trainFeatures.length];
-        for(int j = 0; j < trainFeatures.length; j++) {
-            distances[j] = euclideanDistance(features[i], trainFeatures[j]);
+        double[] distances = new double[trainRows];
+        for(int j = 0; j < trainRows; j++) {
+            distances[j] = euclideanDistance(features, i * m, trainFeatures, j * m);
         }
 
+        predictions.add(vote(distances));
+    }
+
+    Map<String, List<Object>> result = new LinkedHashMap<>();
+    result.put("Predictions", predictions);
+    return new DataFrame(result);
+    }
+
+    @Override
+    public DataFrame predict(SparseMatrix X) {
+        if (sparseTrainFeatures == null) {
+            throw new IllegalStateException("Model was not trained on sparse features");
+        }
+        if (X.getCols() != m) {
+            throw new IllegalArgumentException("Model was trained on " + m + " features, got " + X.getCols());
+        }
+        int trainRows = trainLabels.length;
+        List<Object> predictions = new ArrayList<>();
+
+        for (int i = 0; i < X.getRows(); i++) {
+            // squared distances rank the neighbours the same way
+            double[] distances = new double[trainRows];
+            for (int j = 0; j < trainRows; j++) {
+                distances[j] = X.squaredDistance(i, sparseTrainFeatures, j);
+            }
+            predictions.add(vote(distances));
+        }
+
+        Map<String, List<Object>> result = new LinkedHashMap<>();
+        result.put("Predictions", predictions);
+        return new DataFrame(result);
+    }
+
+    // majority label of the k nearest training rows, ties going to the smaller code
+    private Object vote(double[] distances) {
         int[] nearestIndices = getKNearestIndices(distances, k);
 
         Map<Integer, Integer> voteCount = new HashMap<>();
@@ -88,20 +143,16 @@ public class KNeighboursClassification extends Model {
             }
         }
 
-        predictions.add(labelMapping.get(maxVoteLabel));
-    }
-
-    Map<String, List<Object>> result = new LinkedHashMap<>();
-    result.put("Predictions", predictions);
-    return new DataFrame(result);
+        return labelMapping.get(maxVoteLabel);
     }
 
 
-    // Euclidean distance between two points
-    private double euclideanDistance(double[] a, double[] b) {
+    // Euclidean distance between the rows starting at a[aOffset] and b[bOffset]
+    private double euclideanDistance(double[] a, int aOffset, double[] b, int bOffset) {
         double sum = 0.0;
-        for(int i = 0; i < a.length; i++) {
-            sum += Math.pow(a[i] - b[i], 2);
+        for(int i = 0; i < m; i++) {
+            double diff = a[aOffset + i] - b[bOffset + i];
+            sum += diff * diff;
         }
         return Math.sqrt(sum);
     }
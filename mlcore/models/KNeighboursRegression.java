@@ -7,11 +7,14 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.SparseMatrix;
 
-public class KNeighboursRegression extends Model {
+public class KNeighboursRegression extends Model implements SparseModel {
 
     private int k; 
-    private double[][] trainFeatures;  
+    private double[] trainFeatures;    // row-major, m values per row
+    private SparseMatrix sparseTrainFeatures;
+    private int m;
     private double[] trainTargets;     
 
     public KNeighboursRegression(int k) {
@@ -20,41 +23,64 @@ public class KNeighboursRegression extends Model {
 
     @Override
     public void train(DataFrame X, DataFrame y) {
-        int n = X.getCountRows();
-        trainFeatures = X.to2DArray();
-
-        // Get target column name
-        String targetCol = y.getData().keySet().iterator().next();
-        List<Object> targetList = y.getData().get(targetCol);
+        m = X.getCountCols();
+        trainFeatures = X.toMatrix().getData();
+        sparseTrainFeatures = null;
+        trainTargets = y.to1DArray();
+    }
 
-        trainTargets = new double[n];
-        for (int i = 0; i < n; i++) {
-            trainTargets[i] = Double.parseDouble(targetList.get(i).toString());
-        }
+    @Override
+    public void train(SparseMatrix X, DataFrame y) {
+        m = X.getCols();
+        sparseTrainFeatures = X;
+        trainFeatures = null;
+        trainTargets = y.to1DArray();
     }
 
     @Override
     public DataFrame predict(DataFrame X) {
-        double[][] features = X.to2DArray();
+        if (trainFeatures == null) {
+            throw new IllegalStateException("Model was trained on sparse features");
+        }
+        double[] features = X.toMatrix().getData();
         int n = X.getCountRows();
+        int trainRows = trainTargets.length;
 
         List<Object> predictions = new ArrayList<>();
 
         for (int i = 0; i < n; i++) {
-            double[] distances = new double[trainFeatures.length];
+            double[] distances = new double[trainRows];
 
-            for (int j = 0; j < trainFeatures.length; j++) {
-                distances[j] = euclideanDistance(features[i], trainFeatures[j]);
+            for (int j = 0; j < trainRows; j++) {
+                distances[j] = euclideanDistance(features, i * m, trainFeatures, j * m);
             }
 
-            int[] nearestIndices = getKNearestIndices(distances, k);
+            predictions.add(average(distances));
+        }
 
-            double sum = 0.0;
-            for (int idx : nearestIndices) {
-                sum += trainTargets[idx];
-            }
+        Map<String, List<Object>> result = new LinkedHashMap<>();
+        result.put("Predictions", predictions);
+        return new DataFrame(result);
+    }
+
+    @Override
+    public DataFrame predict(SparseMatrix X) {
+        if (sparseTrainFeatures == null) {
+            throw new IllegalStateException("Model was not trained on sparse features");
+        }
+        if (X.getCols() != m) {
+            throw new IllegalArgumentException("Model was trained on " + m + " features, got " + X.getCols());
+        }
+        int trainRows = trainTargets.length;
+        List<Object> predictions = new ArrayList<>();
 
-            predictions.add(sum / k);  // Average of k nearest targets
+        for (int i = 0; i < X.getRows(); i++) {
+            // squared distances rank the neighbours the same way
+            double[] distances = new double[trainRows];
+            for (int j = 0; j < trainRows; j++) {
+                distances[j] = X.squaredDistance(i, sparseTrainFeatures, j);
+            }
+            predictions.add(average(distances));
         }
 
         Map<String, List<Object>> result = new LinkedHashMap<>();
@@ -62,10 +88,23 @@ public class KNeighboursRegression extends Model {
         return new DataFrame(result);
     }
 
-    private double euclideanDistance(double[] a, double[] b) {
+    // average target of the k nearest training rows
+    private double average(double[] distances) {
+        int[] nearestIndices = getKNearestIndices(distances, k);
+
+        double sum = 0.0;
+        for (int idx : nearestIndices) {
+            sum += trainTargets[idx];
+        }
+        return sum / k;
+    }
+
+    // distance between the rows starting at a[aOffset] and b[bOffset]
+    private double euclideanDistance(double[] a, int aOffset, double[] b, int bOffset) {
         double sum = 0.0;
-        for (int i = 0; i < a.length; i++) {
-            sum += Math.pow(a[i] - b[i], 2);
+        for (int i = 0; i < m; i++) {
+            double diff = a[aOffset + i] - b[bOffset + i];
+            sum += diff * diff;
         }
         return Math.sqrt(sum);
     }
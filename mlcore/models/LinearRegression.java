@@ -5,9 +5,10 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.SparseMatrix;
 
 
-public class LinearRegression extends Model{
+public class LinearRegression extends Model implements SparseModel {
     
     private double[] weights;  // model coefficients (slope values)
     private double bias;       // intercept term
@@ -25,7 +26,7 @@ public class LinearRegression extends Model{
     public void train(DataFrame X, DataFrame y) {
     int n = X.getCountRows();
     int m = X.getCountCols();  // ✅ fixed
-    double[][] features = X.to2DArray();
+    double[] features = X.toMatrix().getData(); // row-major, row i starts at i * m
     double[] targets = y.to1DArray();
 
     weights = new double[m];
@@ -37,7 +38,7 @@ public class LinearRegression extends Model{
         for (int i = 0; i < n; i++) {
             double pred = bias;
             for (int j = 0; j < m; j++) {
-                pred += features[i][j] * weights[j];
+                pred += features[i * m + j] * weights[j];
             }
             predictions[i] = pred;
         }
@@ -48,7 +49,7 @@ public class LinearRegression extends Model{
         for (int i = 0; i < n; i++) {
             double error = predictions[i] - targets[i];
             for (int j = 0; j < m; j++) {
-                dW[j] += features[i][j] * error;
+                dW[j] += features[i * m + j] * error;
             }
             db += error;
         }
@@ -69,7 +70,7 @@ public class LinearRegression extends Model{
 
     @Override
     public DataFrame predict(DataFrame X) {
-        double[][] features = X.to2DArray();
+        double[] features = X.toMatrix().getData(); // row-major, row i starts at i * m
         int n = X.getCountRows();
         int m = X.getCountCols();
 
@@ -78,7 +79,7 @@ public class LinearRegression extends Model{
         for (int i = 0; i < n; i++) {
             double pred = bias;
             for (int j = 0; j < m; j++) {
-                pred += features[i][j] * weights[j];
+                pred += features[i * m + j] * weights[j];
             }
             predictions.add(pred);
         }
@@ -87,5 +88,47 @@ public class LinearRegression extends Model{
         result.put("Predictions", predictions);
         return new DataFrame(result);
     }
-    
+
+    // same gradient descent, touching only the non-zero features of each row
+    @Override
+    public void train(SparseMatrix X, DataFrame y) {
+        int n = X.getRows();
+        int m = X.getCols();
+        double[] targets = y.to1DArray();
+
+        weights = new double[m];
+        bias = 0.0;
+
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            double[] dW = new double[m];
+            double db = 0.0;
+
+            for (int i = 0; i < n; i++) {
+                double error = bias + X.dot(i, weights) - targets[i];
+                X.addRowTo(i, error, dW);
+                db += error;
+            }
+
+            for (int j = 0; j < m; j++) {
+                weights[j] -= learningRate * dW[j] / n;
+            }
+            bias -= learningRate * db / n;
+        }
+    }
+
+    @Override
+    public DataFrame predict(SparseMatrix X) {
+        if (X.getCols() != weights.length) {
+            throw new IllegalArgumentException("Model was trained on " + weights.length + " features, got " + X.getCols());
+        }
+        List<Object> predictions = new ArrayList<>();
+        for (int i = 0; i < X.getRows(); i++) {
+            predictions.add(bias + X.dot(i, weights));
+        }
+
+        Map<String, List<Object>> result = new LinkedHashMap<>();
+        result.put("Predictions", predictions);
+        return new DataFrame(result);
+    }
+
 }
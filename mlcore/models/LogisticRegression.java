@@ -1,6 +1,7 @@
 package mlcore.models;
 
 import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.SparseMatrix;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
@@ -8,7 +9,7 @@ import java.util.LinkedHashMap;
 import java.util.Set;
 import java.util.LinkedHashSet;
 
-public class LogisticRegression extends Model {
+public class LogisticRegression extends Model implements SparseModel {
 
     private double[] weights;  // model coefficients (slope values)
     private double bias;       // intercept term
@@ -26,29 +27,8 @@ public class LogisticRegression extends Model {
     public void train(DataFrame X, DataFrame y) {
         int n = X.getCountRows();
         int m = X.getCountCols();
-
-        // Extract original target column values
-        List<Object> originalTargets = y.getColumn(y.getData().keySet().iterator().next())
-                                       .getData().values().iterator().next();
-
-        // Check for binary target
-        Set<Object> uniqueValues = new LinkedHashSet<>(originalTargets);
-        if (uniqueValues.size() != 2) {
-            throw new IllegalArgumentException("Target column is not binary!");
-        }
-
-        // Encode target to 0/1
-        Object[] uniques = uniqueValues.toArray();
-        Map<Object, Integer> encodingMap = new LinkedHashMap<>();
-        encodingMap.put(uniques[0], 0);
-        encodingMap.put(uniques[1], 1);
-
-        double[] targets = new double[n];
-        for (int i = 0; i < n; i++) {
-            targets[i] = encodingMap.get(originalTargets.get(i));
-        }
-
-        double[][] features = X.to2DArray();
+        double[] targets = encodeTargets(y, n);
+        double[] features = X.toMatrix().getData(); // row-major, row i starts at i * m
 
         // Initialize weights and bias
         weights = new double[m];
@@ -62,7 +42,7 @@ public class LogisticRegression extends Model {
             for (int i = 0; i < n; i++) {
                 double linearSum = bias;
                 for (int j = 0; j < m; j++) {
-                    linearSum += features[i][j] * weights[j];
+                    linearSum += features[i * m + j] * weights[j];
                 }
                 predictions[i] = 1.0 / (1.0 + Math.exp(-linearSum));
             }
@@ -74,7 +54,7 @@ public class LogisticRegression extends Model {
             for (int i = 0; i < n; i++) {
                 double error = predictions[i] - targets[i];
                 for (int j = 0; j < m; j++) {
-                    dW[j] += features[i][j] * error;
+                    dW[j] += features[i * m + j] * error;
                 }
                 db += error;
             }
@@ -89,9 +69,34 @@ public class LogisticRegression extends Model {
         }
     }
 
+    // target values as 0/1, the first distinct value mapping to 0
+    private double[] encodeTargets(DataFrame y, int n) {
+        // Extract original target column values
+        List<Object> originalTargets = y.getColumn(y.getData().keySet().iterator().next())
+                                       .getData().values().iterator().next();
+
+        // Check for binary target
+        Set<Object> uniqueValues = new LinkedHashSet<>(originalTargets);
+        if (uniqueValues.size() != 2) {
+            throw new IllegalArgumentException("Target column is not binary!");
+        }
+
+        // Encode target to 0/1
+        Object[] uniques = uniqueValues.toArray();
+        Map<Object, Integer> encodingMap = new LinkedHashMap<>();
+        encodingMap.put(uniques[0], 0);
+        encodingMap.put(uniques[1], 1);
+
+        double[] targets = new double[n];
+        for (int i = 0; i < n; i++) {
+            targets[i] = encodingMap.get(originalTargets.get(i));
+        }
+        return targets;
+    }
+
     @Override
     public DataFrame predict(DataFrame X) {
-        double[][] features = X.to2DArray();
+        double[] features = X.toMatrix().getData(); // row-major, row i starts at i * m
         int n = X.getCountRows();
         int m = X.getCountCols();
 
@@ -100,7 +105,7 @@ public class LogisticRegression extends Model {
         for (int i = 0; i < n; i++) {
             double linearSum = bias;
             for (int j = 0; j < m; j++) {
-                linearSum += features[i][j] * weights[j];
+                linearSum += features[i * m + j] * weights[j];
             }
             double prob = 1.0 / (1.0 + Math.exp(-linearSum));
             predictions.add(prob); 
@@ -110,4 +115,45 @@ public class LogisticRegression extends Model {
         result.put("Predictions", predictions);
         return new DataFrame(result);
     }
+
+    // same gradient descent, touching only the non-zero features of each row
+    @Override
+    public void train(SparseMatrix X, DataFrame y) {
+        int n = X.getRows();
+        int m = X.getCols();
+        double[] targets = encodeTargets(y, n);
+
+        weights = new double[m];
+        bias = 0.0;
+
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            double[] dW = new double[m];
+            double db = 0.0;
+
+            for (int i = 0; i < n; i++) {
+                double prediction = 1.0 / (1.0 + Math.exp(-(bias + X.dot(i, weights))));
+                double error = prediction - targets[i];
+                X.addRowTo(i, error, dW);
+                db += error;
+            }
+
+            for (int j = 0; j < m; j++) weights[j] -= learningRate * dW[j] / n;
+            bias -= learningRate * db / n;
+        }
+    }
+
+    @Override
+    public DataFrame predict(SparseMatrix X) {
+        if (X.getCols() != weights.length) {
+            throw new IllegalArgumentException("Model was trained on " + weights.length + " features, got " + X.getCols());
+        }
+        List<Object> predictions = new ArrayList<>();
+        for (int i = 0; i < X.getRows(); i++) {
+            predictions.add(1.0 / (1.0 + Math.exp(-(bias + X.dot(i, weights)))));
+        }
+
+        Map<String, List<Object>> result = new LinkedHashMap<>();
+        result.put("Predictions", predictions);
+        return new DataFrame(result);
+    }
 }
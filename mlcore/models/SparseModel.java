@@ -0,0 +1,12 @@
+package mlcore.models;
+
+import mlcore.dataframe.DataFrame;
+import mlcore.dataframe.SparseMatrix;
+
+// models that can also train on sparse features, such as one-hot or hashed blocks
+public interface SparseModel {
+
+    void train(SparseMatrix x, DataFrame y);
+
+    DataFrame predict(SparseMatrix x);
+}